@@ -7,6 +7,42 @@ import java.util.*;
 abstract class Ast {
     protected SymbolTable table;
     protected CodeBuffer code;
+
+    protected Ast() {
+        CompileStats stats = CompileStats.building.get();
+        if (stats != null)
+            stats.astNodes++;
+    }
+
+    // Write this node to an AST cache, handing its kids to out.node in
+    // order (see AstCache)
+    abstract void write(AstCache.Out out);
+}
+
+// Statements and expressions nest without limit, so they are compiled on a
+// stack of their own instead of the Java one (see run). step() does the
+// work of this node up to the next kid to compile and returns that kid, or
+// null when the node is done; phase counts its steps.
+abstract class SteppedAst extends Ast {
+    protected int phase;
+
+    abstract SteppedAst step();
+
+    // Compile root and all the kids its steps ask for, depth first
+    static void run(SteppedAst root) {
+        ArrayDeque<SteppedAst> stack = new ArrayDeque<SteppedAst>();
+        root.phase = 0;
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            SteppedAst kid = stack.peek().step();
+            if (kid == null) {
+                stack.pop();
+            } else {
+                kid.phase = 0;
+                stack.push(kid);
+            }
+        }
+    }
 }
 
 enum Tag {
@@ -21,22 +57,26 @@ enum Tag {
 
 class SymbolTable {
     static class Indexer {
-        private static int globalIndex;
-        private static int labelIndex;
+        // globals and labels are numbered program-wide, in the context
+        private CompileContext ctx;
         private int localIndex;
         private int tempIndex;
         private int paramIndex;
 
+        public Indexer(CompileContext ctx) {
+            this.ctx = ctx;
+        }
+
         public int getGlobalIndex() {
-            return globalIndex++;
+            return ctx.globalIndex++;
         }
 
         public int countGlobal() {
-            return globalIndex;
+            return ctx.globalIndex;
         }
 
         public int getLabelIndex() {
-            return labelIndex++;
+            return ctx.labelIndex++;
         }
 
         public int getLocalIndex() {
@@ -68,23 +108,44 @@ class SymbolTable {
     private String currentFn;
     private Indexer indexer;
 
-    private Map<String, String> mapVar;
-    private List<String> stringList;
+    private IdMap mapVar;
+    private List<StringSlice> stringList;
+    private Map<StringSlice, Integer> stringIndex;
 
-    public SymbolTable() {
-        mapVar = new TreeMap<String, String>();
-        indexer = new Indexer();
-        stringList = new ArrayList<String>();
+    public SymbolTable(CompileContext ctx) {
+        mapVar = new IdMap();
+        indexer = new Indexer(ctx);
+        stringList = new ArrayList<StringSlice>();
+        stringIndex = new HashMap<StringSlice, Integer>();
     }
 
     public SymbolTable(SymbolTable ancestor) {
         this.ancestor = ancestor;
-        mapVar = new TreeMap<String, String>();
+        mapVar = new IdMap();
         indexer = ancestor.indexer;
         stringList = ancestor.stringList;
+        stringIndex = ancestor.stringIndex;
+    }
+
+    // Root of a function compiled on its own (see ParallelCodegen): it sees
+    // the globals, but numbers its labels in unit and has its own strings.
+    public SymbolTable(SymbolTable globals, CompileContext unit) {
+        this(unit);
+        ancestor = globals;
+    }
+
+    // A copy of the variables declared so far in this scope
+    public SymbolTable snapshot() {
+        SymbolTable t = new SymbolTable(this);
+        t.ancestor = ancestor;
+        t.mapVar.putAll(mapVar);
+        return t;
     }
 
     public void enterVariable(Id name, Type type, Tag tag) {
+        CompileStats stats = indexer.ctx.stats;
+        if (stats != null)
+            stats.beginSymbol();
         String code = null;
         if (tag == Tag.GLOBAL)
             code = String.format("$%d_%s", indexer.getGlobalIndex(), name.lexeme());
@@ -92,21 +153,36 @@ class SymbolTable {
             code = String.format("@%d_%s", indexer.getLocalIndex(), name.lexeme());
         else if (tag == Tag.PARAM)
             code = String.format("%%%d_%s", indexer.getParamIndex(), name.lexeme());
-        mapVar.put(name.lexeme(), code);
+        mapVar.put(name.id(), code);
+        if (stats != null)
+            stats.endSymbol();
     }
 
     public void enterFunction(Id name, Type type, FormalsList formalList) {
         // Do nothing
     }
 
-    public String enterString(String s) {
-        for (int i = 0; i < stringList.size(); ++i)
-            if (s.equals(stringList.get(i)))
-                return String.format("?%d", i);
+    public String enterString(StringSlice s) {
+        return "?" + stringNumber(s);
+    }
 
-        String res = String.format("?%d", stringList.size());
-        stringList.add(s);
-        return res;
+    public int stringNumber(StringSlice s) {
+        CompileStats stats = indexer.ctx.stats;
+        if (stats != null)
+            stats.beginSymbol();
+        Integer i = stringIndex.get(s);
+        if (i == null) {
+            i = stringList.size();
+            stringList.add(s);
+            stringIndex.put(s, i);
+        }
+        if (stats != null)
+            stats.endSymbol();
+        return i;
+    }
+
+    public List<StringSlice> strings() {
+        return stringList;
     }
 
     public int countGlobal() {
@@ -129,28 +205,43 @@ class SymbolTable {
         return "&" + indexer.getTempIndex();
     }
 
+    // The code of the variable called name declared in this scope itself
+    // (not in an enclosing one), or null
+    public String declared(String name) {
+        int id = indexer.ctx.names.find(name);
+        return id < 0 ? null : mapVar.get(id);
+    }
+
     public String lookup(Id name) {
-        for (SymbolTable t = this; t != null; t = t.ancestor)
-            if (t.mapVar.containsKey(name.lexeme()))
-                return t.mapVar.get(name.lexeme());
+        for (SymbolTable t = this; t != null; t = t.ancestor) {
+            String code = t.mapVar.get(name.id());
+            if (code != null)
+                return code;
+        }
         return "unknown";
     }
 
     public CodeBuffer getStringListCode() {
         CodeBuffer code = new CodeBuffer();
-        for (String s: stringList)
+        // the only place a literal's text is copied out of the source
+        for (StringSlice s: stringList)
             code.append("str " + s);
         return code;
     }
 
     public void setCurrentFn(String currentFn) {
         this.currentFn = currentFn;
-        indexer = new Indexer();
+        indexer = new Indexer(indexer.ctx);
     }
 
     public String getCurrentFn() {
         return currentFn;
     }
+
+    // Statistics of the compilation, or null
+    public CompileStats stats() {
+        return indexer.ctx.stats;
+    }
 }
 
 class CodeBuffer {
@@ -174,6 +265,19 @@ class CodeBuffer {
             list.add(s);
     }
 
+    // Append the code of o, which is not used again; o is left empty. A
+    // child's code is moved rather than copied, so deeply nested code is
+    // not kept once per level.
+    public void take(CodeBuffer o) {
+        if (o == null) return;
+        if (list.isEmpty()) {
+            list = o.list;
+        } else {
+            list.addAll(o.list);
+        }
+        o.list = new ArrayList<String>();
+    }
+
     public void appendTab(CodeBuffer o) {
         if (o == null) return;
         for (String s: o.list)
@@ -184,6 +288,35 @@ class CodeBuffer {
         append("");
     }
 
+    // Shift every label ~N to ~(labelBase + N) and every string ?N to
+    // ?stringNumbers[N]; used to put code that was compiled on its own
+    // into place.
+    public void relocate(int labelBase, int[] stringNumbers) {
+        for (int i = 0; i < list.size(); ++i) {
+            String s = list.get(i);
+            if (s.indexOf('~') < 0 && s.indexOf('?') < 0)
+                continue;
+
+            StringBuilder b = new StringBuilder(s.length() + 4);
+            int p = 0;
+            while (p < s.length()) {
+                char c = s.charAt(p++);
+                b.append(c);
+                if ((c != '~' && c != '?') || p == s.length() || !Character.isDigit(s.charAt(p)))
+                    continue;
+                int n = 0;
+                while (p < s.length() && Character.isDigit(s.charAt(p)))
+                    n = n * 10 + (s.charAt(p++) - '0');
+                b.append(c == '~' ? labelBase + n : stringNumbers[n]);
+            }
+            list.set(i, b.toString());
+        }
+    }
+
+    public List<String> lines() {
+        return list;
+    }
+
     public void output(PrintWriter out) {
         for (String s: list)
             out.println(s);
@@ -197,19 +330,53 @@ class Program extends Ast {
         this.declList = declList;
     }
 
+    // A program whose declarations have been compiled already, one by one
+    // (see IncrementalCompiler)
+    public Program(SymbolTable table, CodeBuffer code) {
+        this.table = table;
+        this.code = code;
+    }
+
+    public DeclList declList() {
+        return declList;
+    }
+
     // Compile
-    public void compile(PrintWriter out) {
-        table = new SymbolTable();
-        declList.table = table;
-        declList.compile(Tag.GLOBAL);
+    public void compile(CompileContext ctx, PrintWriter out) throws IOException {
+        if (ctx.stream != null) {
+            // The declarations have been compiled while parsing
+            ctx.stream.finish(out);
+            return;
+        }
 
-        code = new CodeBuffer();
-        code.append(table.getStringListCode());
-        code.appendLn();
-        code.append("entry main, %d", table.countGlobal());
-        code.append(declList.code);
+        if (declList != null) {
+            table = new SymbolTable(ctx);
+            declList.table = table;
+            if (ctx.options.parallel)
+                ParallelCodegen.compile(declList, ctx);
+            else
+                declList.compile(Tag.GLOBAL);
+            code = declList.code;
+        }
+
+        CodeBuffer hir = new CodeBuffer();
+        hir.append(table.getStringListCode());
+        hir.appendLn();
+        hir.append("entry main, %d", table.countGlobal());
+        hir.append(code);
 
-        code.output(out);
+        if (ctx.stats != null) {
+            ctx.stats.countInstructions(hir);
+            ctx.stats.labels = ctx.labelIndex;
+            ctx.stats.strings = table.strings().size();
+        }
+        hir.output(out);
+    }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.PROGRAM);
+        out.node(declList);
     }
 }
 
@@ -217,23 +384,30 @@ class Program extends Ast {
 // Decls
 // **********************************************************************
 class DeclList extends Ast {
-    // linked list of kids (Decls)
-    protected LinkedList decls;
+    private static final Decl[] NONE = new Decl[0];
 
-    public DeclList(LinkedList decls) {
-        this.decls = decls;
+    // kids (Decls), copied from the parser's list into an array of their
+    // exact size
+    protected Decl[] decls;
+
+    public DeclList(List<Decl> decls) {
+        this.decls = decls.toArray(NONE);
     }
 
     public void compile(Tag tag) {
         code = new CodeBuffer();
-        ListIterator listIterator = decls.listIterator();
-        while (listIterator.hasNext()) {
-            Decl decl = (Decl) listIterator.next();
+        for (Decl decl: decls) {
             decl.table = table;
             decl.compile(tag);
             code.append(decl.code);
         }
     }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.DECLS);
+        out.nodes(decls);
+    }
 }
 
 abstract class Decl extends Ast {
@@ -253,6 +427,13 @@ class VarDecl extends Decl {
     public void compile(Tag tag) {
         table.enterVariable(name, type, tag);
     }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.VAR);
+        type.write(out);
+        name.write(out);
+    }
 }
 
 class FnDecl extends Decl {
@@ -261,6 +442,11 @@ class FnDecl extends Decl {
     private FormalsList formalList;
     private FnBody body;
 
+    // With -lazy the body is parsed when it is first needed, from the
+    // tokens it starts at (see DescentParser.fnBody)
+    private TokenStream tokens;
+    private int bodyStart;
+
     public FnDecl(Type type, Id name, FormalsList formalList, FnBody body) {
         this.type = type;
         this.name = name;
@@ -268,8 +454,33 @@ class FnDecl extends Decl {
         this.body = body;
     }
 
+    public FnDecl(Type type, Id name, FormalsList formalList, TokenStream tokens, int bodyStart) {
+        this.type = type;
+        this.name = name;
+        this.formalList = formalList;
+        this.tokens = tokens;
+        this.bodyStart = bodyStart;
+    }
+
+    private FnBody body() {
+        if (body == null) {
+            CompileStats stats = table != null ? table.stats() : null;
+            CompileStats outer = CompileStats.building.get();
+            if (stats != null)
+                CompileStats.building.set(stats);
+            try {
+                body = DescentParser.fnBody(tokens, bodyStart);
+            } finally {
+                CompileStats.building.set(outer);
+            }
+        }
+        return body;
+    }
+
     @Override
     public void compile(Tag tag) {
+        CompileFunctionEvent event = new CompileFunctionEvent();
+        event.begin();
         table.enterFunction(name, type, formalList);
 
         table = new SymbolTable(table);
@@ -278,8 +489,12 @@ class FnDecl extends Decl {
         formalList.table = table;
         formalList.compile();
 
+        FnBody body = body();
         body.table = table;
         body.compile();
+        // a lazy body is parsed again if it is needed again
+        if (tokens != null)
+            this.body = null;
 
         code = new CodeBuffer();
         code.appendLn();
@@ -287,6 +502,28 @@ class FnDecl extends Decl {
         code.append("funci %d, %d", table.countLocal(), table.countTemp());
         code.appendTab(body.code);
         code.append("efunc " + name.lexeme());
+
+        CompileStats stats = table.stats();
+        if (stats != null) {
+            stats.functions++;
+            stats.temps += table.countTemp();
+        }
+        if (event.shouldCommit()) {
+            event.function = name.lexeme();
+            event.locals = table.countLocal();
+            event.temps = table.countTemp();
+            event.lines = code.lines().size();
+            event.commit();
+        }
+    }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.FN);
+        type.write(out);
+        name.write(out);
+        out.node(formalList);
+        out.node(body());
     }
 }
 
@@ -305,27 +542,41 @@ class FnPreDecl extends Decl {
     public void compile(Tag tag) {
         // Do nothing
     }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.FN_PRE);
+        type.write(out);
+        name.write(out);
+        out.node(formalList);
+    }
 }
 
 class FormalsList extends Ast {
-    // linked list of kids (FormalDecls)
-    private LinkedList formals;
+    private static final FormalDecl[] NONE = new FormalDecl[0];
+
+    // kids (FormalDecls)
+    private FormalDecl[] formals;
 
-    public FormalsList(LinkedList formals) {
-        this.formals = formals;
+    public FormalsList(List<FormalDecl> formals) {
+        this.formals = formals.toArray(NONE);
     }
 
     public void compile() {
         code = new CodeBuffer();
-        ListIterator listIterator = formals.listIterator();
-        while (listIterator.hasNext()) {
-            FormalDecl decl = (FormalDecl) listIterator.next();
+        for (FormalDecl decl: formals) {
             decl.table = table;
             decl.compile(Tag.PARAM);
             
             code.append(decl.code);
         }
     }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.FORMALS);
+        out.nodes(formals);
+    }
 }
 
 class FormalDecl extends Decl {
@@ -341,6 +592,13 @@ class FormalDecl extends Decl {
     public void compile(Tag tag) {
         table.enterVariable(name, type, tag);
     }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.FORMAL);
+        type.write(out);
+        name.write(out);
+    }
 }
 
 class FnBody extends Ast {
@@ -361,28 +619,50 @@ class FnBody extends Ast {
 
         code = stmtList.code;
     }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.BODY);
+        out.node(declList);
+        out.node(stmtList);
+    }
 }
 
-class StmtList extends Ast {
-    // linked list of kids (Stmts)
-    private LinkedList stmts;
+class StmtList extends SteppedAst {
+    private static final Stmt[] NONE = new Stmt[0];
 
-    public StmtList(LinkedList stmts) {
-        this.stmts = stmts;
+    // kids (Stmts)
+    private Stmt[] stmts;
+
+    public StmtList(List<Stmt> stmts) {
+        this.stmts = stmts.toArray(NONE);
     }
 
     public void compile() {
-        code = new CodeBuffer();
-        ListIterator listIterator = stmts.listIterator();
-        while (listIterator.hasNext()) {
-            Stmt stmt = (Stmt) listIterator.next();
-            stmt.table = table;
-            stmt.nextLabel = table.newLabel();
-            stmt.compile();
-
-            code.append(stmt.code);
+        run(this);
+    }
+
+    @Override
+    SteppedAst step() {
+        if (phase == 0) {
+            code = new CodeBuffer();
+        } else {
+            Stmt stmt = stmts[phase - 1];
+            code.take(stmt.code);
             code.append(stmt.nextLabel + ":");
         }
+        if (phase == stmts.length)
+            return null;
+        Stmt stmt = stmts[phase++];
+        stmt.table = table;
+        stmt.nextLabel = table.newLabel();
+        return stmt;
+    }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.STMTS);
+        out.nodes(stmts);
     }
 }
 
@@ -439,14 +719,25 @@ class Type extends Ast {
     public String name() {
         return name;
     }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.TYPE);
+        out.number(name.equals(intTypeName) ? 1 : 0);
+        out.number(size + 1);
+        out.number(numPointers);
+    }
 }
 
 // **********************************************************************
 // Stmts
 // **********************************************************************
-abstract class Stmt extends Ast {
-    public abstract void compile();
+abstract class Stmt extends SteppedAst {
     protected String nextLabel;
+
+    public void compile() {
+        run(this);
+    }
 }
 
 class AssignStmt extends Stmt {
@@ -459,16 +750,33 @@ class AssignStmt extends Stmt {
     }
 
     @Override
-    public void compile() {
-        exp.table = table;
-        exp.compile();
-
-        lhs.table = table;
-        lhs.compile();
+    SteppedAst step() {
+        switch (phase++) {
+        case 0:
+            exp.table = table;
+            return exp;
+        case 1:
+            lhs.table = table;
+            return lhs;
+        default:
+            code = new CodeBuffer();
+            code.take(exp.code);
+            code.append("move %s, %s", lhs.addr, exp.addr);
+            return null;
+        }
+    }
 
-        code = new CodeBuffer();
-        code.append(exp.code);
-        code.append("move %s, %s", lhs.addr, exp.addr);
+    @Override
+    void write(AstCache.Out out) {
+        if (exp instanceof BinaryExp && ((BinaryExp) exp).exp1 == lhs) {
+            // x op= e
+            out.tag(AstCache.COMPOUND);
+            out.node(exp);
+        } else {
+            out.tag(AstCache.ASSIGN);
+            out.node(lhs);
+            out.node(exp);
+        }
     }
 }
 
@@ -484,22 +792,34 @@ class IfStmt extends Stmt {
     }
 
     @Override
-    public void compile() {
-        exp.trueLabel = table.newLabel();
-        exp.falseLabel = nextLabel;
-        exp.table = table;
-        exp.compile();
-
-        declList.table = new SymbolTable(table);
-        declList.compile(Tag.LOCAL);
-
-        stmtList.table = declList.table;
-        stmtList.compile();
+    SteppedAst step() {
+        switch (phase++) {
+        case 0:
+            exp.trueLabel = table.newLabel();
+            exp.falseLabel = nextLabel;
+            exp.table = table;
+            return exp;
+        case 1:
+            declList.table = new SymbolTable(table);
+            declList.compile(Tag.LOCAL);
+
+            stmtList.table = declList.table;
+            return stmtList;
+        default:
+            code = new CodeBuffer();
+            code.take(exp.code);
+            code.append(exp.trueLabel + ":");
+            code.take(stmtList.code);
+            return null;
+        }
+    }
 
-        code = new CodeBuffer();
-        code.append(exp.code);
-        code.append(exp.trueLabel + ":");
-        code.append(stmtList.code);
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.IF);
+        out.node(exp);
+        out.node(declList);
+        out.node(stmtList);
     }
 }
 
@@ -520,31 +840,45 @@ class IfElseStmt extends Stmt {
     }
 
     @Override
-    public void compile() {
-        exp.trueLabel = table.newLabel();
-        exp.falseLabel = table.newLabel();
-        exp.table = table;
-        exp.compile();
-
-        declList1.table = new SymbolTable(table);
-        declList1.compile(Tag.LOCAL);
-
-        stmtList1.table = declList1.table;
-        stmtList1.compile();
-
-        declList2.table = new SymbolTable(table);
-        declList2.compile(Tag.LOCAL);
-
-        stmtList2.table = declList2.table;
-        stmtList2.compile();
+    SteppedAst step() {
+        switch (phase++) {
+        case 0:
+            exp.trueLabel = table.newLabel();
+            exp.falseLabel = table.newLabel();
+            exp.table = table;
+            return exp;
+        case 1:
+            declList1.table = new SymbolTable(table);
+            declList1.compile(Tag.LOCAL);
+
+            stmtList1.table = declList1.table;
+            return stmtList1;
+        case 2:
+            declList2.table = new SymbolTable(table);
+            declList2.compile(Tag.LOCAL);
+
+            stmtList2.table = declList2.table;
+            return stmtList2;
+        default:
+            code = new CodeBuffer();
+            code.take(exp.code);
+            code.append(exp.trueLabel + ":");
+            code.take(stmtList1.code);
+            code.append("jump %s", this.nextLabel);
+            code.append(exp.falseLabel + ":");
+            code.take(stmtList2.code);
+            return null;
+        }
+    }
 
-        code = new CodeBuffer();
-        code.append(exp.code);
-        code.append(exp.trueLabel + ":");
-        code.append(stmtList1.code);
-        code.append("jump %s", this.nextLabel);
-        code.append(exp.falseLabel + ":");
-        code.append(stmtList2.code);
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.IF_ELSE);
+        out.node(exp);
+        out.node(declList1);
+        out.node(stmtList1);
+        out.node(declList2);
+        out.node(stmtList2);
     }
 }
 
@@ -552,6 +886,7 @@ class WhileStmt extends Stmt {
     private Exp exp;
     private DeclList declList;
     private StmtList stmtList;
+    private String begin;
 
     public WhileStmt(Exp exp, DeclList declList, StmtList stmtList) {
         this.exp = exp;
@@ -560,25 +895,37 @@ class WhileStmt extends Stmt {
     }
 
     @Override
-    public void compile() {
-        String begin = table.newLabel();
-        exp.trueLabel = table.newLabel();
-        exp.falseLabel = nextLabel;
-        exp.table = table;
-        exp.compile();
-
-        declList.table = new SymbolTable(table);
-        declList.compile(Tag.LOCAL);
-
-        stmtList.table = declList.table;
-        stmtList.compile();
+    SteppedAst step() {
+        switch (phase++) {
+        case 0:
+            begin = table.newLabel();
+            exp.trueLabel = table.newLabel();
+            exp.falseLabel = nextLabel;
+            exp.table = table;
+            return exp;
+        case 1:
+            declList.table = new SymbolTable(table);
+            declList.compile(Tag.LOCAL);
+
+            stmtList.table = declList.table;
+            return stmtList;
+        default:
+            code = new CodeBuffer();
+            code.append(begin + ":");
+            code.take(exp.code);
+            code.append(exp.trueLabel + ":");
+            code.take(stmtList.code);
+            code.append("jump %s", begin);
+            return null;
+        }
+    }
 
-        code = new CodeBuffer();
-        code.append(begin + ":");
-        code.append(exp.code);
-        code.append(exp.trueLabel + ":");
-        code.append(stmtList.code);
-        code.append("jump %s", begin);
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.WHILE);
+        out.node(exp);
+        out.node(declList);
+        out.node(stmtList);
     }
 }
 
@@ -588,6 +935,7 @@ class ForStmt extends Stmt {
     private Stmt incr;
     private DeclList declList;
     private StmtList stmtList;
+    private String begin;
 
     public ForStmt(Stmt init, Exp cond, Stmt incr, 
             DeclList declList, StmtList stmtList) {
@@ -599,36 +947,50 @@ class ForStmt extends Stmt {
     }
 
     @Override
-    public void compile() {
-        String begin = table.newLabel();
-
-        init.nextLabel = begin;
-        init.table = table;
-        init.compile();
-
-        cond.trueLabel = table.newLabel();
-        cond.falseLabel = nextLabel;
-        cond.table = table;
-        cond.compile();
-
-        declList.table = new SymbolTable(table);
-        declList.compile(Tag.LOCAL);
-
-        stmtList.table = declList.table;
-        stmtList.compile();
-        
-        incr.nextLabel = begin;
-        incr.table = table;
-        incr.compile();
+    SteppedAst step() {
+        switch (phase++) {
+        case 0:
+            begin = table.newLabel();
+
+            init.nextLabel = begin;
+            init.table = table;
+            return init;
+        case 1:
+            cond.trueLabel = table.newLabel();
+            cond.falseLabel = nextLabel;
+            cond.table = table;
+            return cond;
+        case 2:
+            declList.table = new SymbolTable(table);
+            declList.compile(Tag.LOCAL);
+
+            stmtList.table = declList.table;
+            return stmtList;
+        case 3:
+            incr.nextLabel = begin;
+            incr.table = table;
+            return incr;
+        }
 
         code = new CodeBuffer();
-        code.append(init.code);
+        code.take(init.code);
         code.append(begin + ":");
-        code.append(cond.code);
+        code.take(cond.code);
         code.append(cond.trueLabel + ":");
-        code.append(stmtList.code);
-        code.append(incr.code);
+        code.take(stmtList.code);
+        code.take(incr.code);
         code.append("jump %s", begin);
+        return null;
+    }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.FOR);
+        out.node(init);
+        out.node(cond);
+        out.node(incr);
+        out.node(declList);
+        out.node(stmtList);
     }
 }
 
@@ -640,10 +1002,18 @@ class CallStmt extends Stmt {
     }
 
     @Override
-    public void compile() {
+    SteppedAst step() {
+        // the arguments are compiled on a stack of their own
         callExp.table = table;
         callExp.compile(Tag.CALL);
         code = callExp.code;
+        return null;
+    }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.CALL_STMT);
+        out.node(callExp);
     }
 }
 
@@ -655,30 +1025,42 @@ class ReturnStmt extends Stmt {
     }
 
     @Override
-    public void compile() {
-        code = new CodeBuffer();
-        if (exp == null) {
-            code.append("ret " + table.getCurrentFn());
-        } else {
+    SteppedAst step() {
+        if (phase++ == 0) {
+            code = new CodeBuffer();
+            if (exp == null) {
+                code.append("ret " + table.getCurrentFn());
+                return null;
+            }
             exp.table = table;
-            exp.compile();
-            code.append(exp.code);
-            code.append("retf %s, %s", table.getCurrentFn(), exp.addr);
+            return exp;
         }
+        code.take(exp.code);
+        code.append("retf %s, %s", table.getCurrentFn(), exp.addr);
+        return null;
+    }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.RETURN);
+        out.node(exp);
     }
 }
 
 // **********************************************************************
 // Exps
 // **********************************************************************
-abstract class Exp extends Ast {
+abstract class Exp extends SteppedAst {
     public abstract int getLine();
     public abstract int getChar();
     
     public String addr;
     public String trueLabel;
     public String falseLabel;
-    public abstract void compile();
+
+    public void compile() {
+        run(this);
+    }
 }
 
 abstract class BasicExp extends Exp {
@@ -707,44 +1089,78 @@ class IntLit extends BasicExp {
     }
 
     @Override
-    public void compile() {
+    SteppedAst step() {
         addr = Integer.toString(intVal);
+        return null;
+    }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.INT_LIT);
+        out.number(getLine());
+        out.number(getChar());
+        out.number(intVal);
     }
 }
 
 class StringLit extends BasicExp {
-    private String strVal;
+    private StringSlice strVal;
 
-    public StringLit(int lineNum, int charNum, String strVal) {
+    public StringLit(int lineNum, int charNum, StringSlice strVal) {
         super(lineNum, charNum);
         this.strVal = strVal;
     }
 
-    public String str() {
+    public StringSlice str() {
         return strVal;
     }
 
     @Override
-    public void compile() {
+    SteppedAst step() {
         addr = table.enterString(strVal);
+        return null;
+    }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.STRING_LIT);
+        out.number(getLine());
+        out.number(getChar());
+        out.literal(strVal);
     }
 }
 
 class Id extends BasicExp {
     private String strVal;
+    private int id;
 
-    public Id(int lineNum, int charNum, String strVal) {
+    public Id(int lineNum, int charNum, String strVal, int id) {
         super(lineNum, charNum);
         this.strVal = strVal;
+        this.id = id;
     }
 
     public String lexeme() {
         return strVal;
     }
 
+    // see Names
+    public int id() {
+        return id;
+    }
+
     @Override
-    public void compile() {
+    SteppedAst step() {
         addr = table.lookup(this);
+        return null;
+    }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.ID);
+        out.number(getLine());
+        out.number(getChar());
+        out.name(strVal);
     }
 }
 
@@ -766,14 +1182,23 @@ class ArrayExp extends Exp {
     }
 
     @Override
-    public void compile() {
+    SteppedAst step() {
         // Do nothing
+        return null;
+    }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.ARRAY);
+        out.node(lhs);
+        out.node(exp);
     }
 }
 
 class CallExp extends Exp {
     private Id name;
     private ActualList actualList;
+    private Tag tag;    // as given to compile(Tag); null for compile()
 
     public CallExp(Id name, ActualList actualList) {
         this.name = name;
@@ -782,7 +1207,7 @@ class CallExp extends Exp {
 
     public CallExp(Id name) {
         this.name = name;
-        this.actualList = new ActualList(new LinkedList());
+        this.actualList = new ActualList(Collections.<Exp>emptyList());
     }
 
     public int getLine() {
@@ -795,67 +1220,91 @@ class CallExp extends Exp {
 
     @Override
     public void compile() {
-        code = new CodeBuffer();
-        actualList.table = table;
-        actualList.compile(null);
-        addr = table.newTemp();
-        code.append(actualList.code);
-        code.append("callf %s, %s, %d", addr, name.lexeme(), actualList.size());
+        tag = null;
+        run(this);
     }
 
     public void compile(Tag tag) {
-        code = new CodeBuffer();
+        this.tag = tag;
+        run(this);
+    }
 
-        actualList.table = table;
-        if (name.lexeme().equals("scanf")) {
-            actualList.compile(Tag.READ);
-            code.append(actualList.code);
+    @Override
+    SteppedAst step() {
+        if (phase++ == 0) {
+            code = new CodeBuffer();
+            actualList.table = table;
+            if (tag != null && name.id() == Names.SCANF)
+                actualList.tag = Tag.READ;
+            else if (tag != null && name.id() == Names.PRINTF)
+                actualList.tag = Tag.WRITE;
+            else
+                actualList.tag = null;
+            return actualList;
         }
-        else if (name.lexeme().equals("printf")) {
-            actualList.compile(Tag.WRITE);
-            code.append(actualList.code);
+
+        if (tag == null) {
+            addr = table.newTemp();
+            code.take(actualList.code);
+            code.append("callf %s, %s, %d", addr, name.lexeme(), actualList.size());
+            return null;
+        }
+        code.take(actualList.code);
+        // scanf and printf are done with their reads and writes
+        if (actualList.tag != null)
+            return null;
+        if (tag == Tag.CALL) {
+            code.append("call %s, %d", name.lexeme(), actualList.size());
         }
         else {
-            actualList.compile(null);
-            code.append(actualList.code);
-            if (tag == Tag.CALL) {
-                code.append("call %s, %d", name.lexeme(), actualList.size());
-            }
-            else {
-                addr = table.newTemp();
-                code.append("callf %s, %s, %d", addr, name.lexeme(), actualList.size());
-            }
+            addr = table.newTemp();
+            code.append("callf %s, %s, %d", addr, name.lexeme(), actualList.size());
         }
+        return null;
+    }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.CALL);
+        name.write(out);
+        out.node(actualList);
     }
 }
 
-class ActualList extends Ast {
-    // linked list of kids (Exps)
-    private LinkedList exps;
+class ActualList extends SteppedAst {
+    private static final Exp[] NONE = new Exp[0];
+
+    // kids (Exps)
+    private Exp[] exps;
+    Tag tag;            // READ, WRITE or null for arguments
 
-    public ActualList(LinkedList exps) {
-        this.exps = exps;
+    public ActualList(List<Exp> exps) {
+        this.exps = exps.toArray(NONE);
     }
 
     public int size() {
-        return exps.size();
+        return exps.length;
     }
 
     public void compile(Tag tag) {
-        code = new CodeBuffer();
-        ListIterator listIterator = exps.listIterator();
-        while (listIterator.hasNext()) {
-            Exp exp = (Exp) listIterator.next();
-            exp.table = table;
-            exp.compile();
+        this.tag = tag;
+        run(this);
+    }
 
-            code.append(exp.code);
+    @Override
+    SteppedAst step() {
+        if (phase == 0)
+            code = new CodeBuffer();
+        else
+            code.take(exps[phase - 1].code);
+        if (phase < exps.length) {
+            Exp exp = exps[phase++];
+            exp.table = table;
+            return exp;
         }
 
         int order = 0;
-        listIterator = exps.listIterator();
-        while (listIterator.hasNext()) {
-            Exp exp = (Exp) listIterator.next();
+        for (Exp exp: exps) {
             if (tag == Tag.READ)
                 code.append("read %s", exp.addr);
             else if (tag == Tag.WRITE)
@@ -863,6 +1312,13 @@ class ActualList extends Ast {
             else
                 code.append("arg %s, %d", exp.addr, order++);
         }
+        return null;
+    }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.ACTUALS);
+        out.nodes(exps);
     }
 }
 
@@ -880,6 +1336,12 @@ abstract class UnaryExp extends Exp {
     public int getChar() {
         return exp.getChar();
     }
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.operator(this));
+        out.node(exp);
+    }
 }
 
 abstract class BinaryExp extends Exp {
@@ -900,22 +1362,33 @@ abstract class BinaryExp extends Exp {
     }
 
     @Override
-    public void compile() {
-        exp1.table = table;
-        exp1.compile();
-
-        exp2.table = table;
-        exp2.compile();
+    SteppedAst step() {
+        switch (phase++) {
+        case 0:
+            exp1.table = table;
+            return exp1;
+        case 1:
+            exp2.table = table;
+            return exp2;
+        default:
+            code = new CodeBuffer();
+            code.take(exp1.code);
+            code.take(exp2.code);
 
-        code = new CodeBuffer();
-        code.append(exp1.code);
-        code.append(exp2.code);
-
-        addr = table.newTemp();
-        finalStep();
+            addr = table.newTemp();
+            finalStep();
+            return null;
+        }
     }
 
     protected abstract void finalStep();
+
+    @Override
+    void write(AstCache.Out out) {
+        out.tag(AstCache.operator(this));
+        out.node(exp1);
+        out.node(exp2);
+    }
 }
 
 abstract class BooleanExpr extends BinaryExp {
@@ -928,25 +1401,29 @@ abstract class BooleanExpr extends BinaryExp {
     }
 
     @Override
-    public void compile() {
-        exp1.table = table;
-        exp1.compile();
-
-        exp2.table = table;
-        exp2.compile();
-
-        code = new CodeBuffer();
-        combineCode();
-
-        if (!isBooleanExpr()) {
-            addr = table.newTemp();
-            finalStep();
+    SteppedAst step() {
+        switch (phase++) {
+        case 0:
+            exp1.table = table;
+            return exp1;
+        case 1:
+            exp2.table = table;
+            return exp2;
+        default:
+            code = new CodeBuffer();
+            combineCode();
+
+            if (!isBooleanExpr()) {
+                addr = table.newTemp();
+                finalStep();
+            }
+            return null;
         }
     }
 
     protected void combineCode() {
-        code.append(exp1.code);
-        code.append(exp2.code);
+        code.take(exp1.code);
+        code.take(exp2.code);
 
         if (isBooleanExpr()) {
             addr = table.newTemp();
@@ -967,14 +1444,17 @@ class UnaryMinusExp extends UnaryExp {
     }
 
     @Override
-    public void compile() {
-        exp.table = table;
-        exp.compile();
+    SteppedAst step() {
+        if (phase++ == 0) {
+            exp.table = table;
+            return exp;
+        }
 
         addr = table.newTemp();
         code = new CodeBuffer();
-        code.append(exp.code);
+        code.take(exp.code);
         code.append("sub %s, 0, %s", addr, exp.addr);
+        return null;
     }
 }
 
@@ -984,19 +1464,22 @@ class NotExp extends UnaryExp {
     }
 
     @Override
-    public void compile() {
-        exp.table = table;
-        exp.compile();
+    SteppedAst step() {
+        if (phase++ == 0) {
+            exp.table = table;
+            return exp;
+        }
 
         addr = table.newTemp();
         code = new CodeBuffer();
-        code.append(exp.code);
+        code.take(exp.code);
         code.append("not %s, %s", addr, exp.addr);
 
         if (trueLabel != null && falseLabel != null) {
             exp.trueLabel = falseLabel;
             exp.falseLabel = trueLabel;
         }
+        return null;
     }
 }
 
@@ -1006,8 +1489,9 @@ class AddrOfExp extends UnaryExp {
     }
 
     @Override
-    public void compile() {
+    SteppedAst step() {
         // Do nothing
+        return null;
     }
 }
 
@@ -1017,8 +1501,9 @@ class DeRefExp extends UnaryExp {
     }
 
     @Override
-    public void compile() {
+    SteppedAst step() {
         // Do nothing
+        return null;
     }
 }
 
@@ -1093,12 +1578,12 @@ class AndExp extends BooleanExpr {
             exp2.trueLabel = trueLabel;
             exp2.falseLabel = falseLabel;
 
-            code.append(exp1.code);
+            code.take(exp1.code);
             code.append(exp1.trueLabel + ":");
-            code.append(exp2.code);
+            code.take(exp2.code);
         } else {
-            code.append(exp1.code);
-            code.append(exp2.code);
+            code.take(exp1.code);
+            code.take(exp2.code);
         }
     }
 
@@ -1121,12 +1606,12 @@ class OrExp extends BooleanExpr {
             exp2.trueLabel = trueLabel;
             exp2.falseLabel = falseLabel;
 
-            code.append(exp1.code);
+            code.take(exp1.code);
             code.append(exp1.falseLabel + ":");
-            code.append(exp2.code);
+            code.take(exp2.code);
         } else {
-            code.append(exp1.code);
-            code.append(exp2.code);
+            code.take(exp1.code);
+            code.take(exp2.code);
         }
     }
 
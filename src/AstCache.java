@@ -0,0 +1,583 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+// Parsed programs kept on disk, so that a source that has not changed
+// since it was last compiled is not lexed and parsed again (-astcache).
+// There is one file per source, named by a hash of its text; it holds the
+// AST in a compact binary form and is read back with a single bulk read.
+//
+// The format is a preorder walk of the tree: each node is a tag byte
+// followed by its fields and children (see the write methods in Ast.java
+// and In.open below). Trees nest without limit, so both walks keep their
+// own stacks rather than recursing. Numbers are unsigned LEB128 varints. A name is
+// written once, as its index and bytes, and by its index after that.
+// A header with a magic number, the format version and a CRC32 of the
+// rest comes first, so a damaged or outdated file is ignored and the
+// source parsed again.
+//
+// Files are written to a temporary name and renamed into place, so one
+// directory can be shared by concurrent compilations.
+public class AstCache {
+    private static final int MAGIC = 0x53434153;   // "SCAS"
+    private static final int VERSION = 1;
+    private static final int HEADER = 12;
+
+    static final int NULL = 0;
+    static final int PROGRAM = 1;
+    static final int DECLS = 2;
+    static final int VAR = 3;
+    static final int FN = 4;
+    static final int FN_PRE = 5;
+    static final int FORMALS = 6;
+    static final int FORMAL = 7;
+    static final int BODY = 8;
+    static final int STMTS = 9;
+    static final int TYPE = 10;
+    static final int ASSIGN = 11;
+    static final int COMPOUND = 12;     // x op= e, whose lhs is shared
+    static final int IF = 13;
+    static final int IF_ELSE = 14;
+    static final int WHILE = 15;
+    static final int FOR = 16;
+    static final int CALL_STMT = 17;
+    static final int RETURN = 18;
+    static final int INT_LIT = 19;
+    static final int STRING_LIT = 20;
+    static final int ID = 21;
+    static final int ARRAY = 22;
+    static final int CALL = 23;
+    static final int ACTUALS = 24;
+    static final int MINUS_UNARY = 25;
+    static final int NOT = 26;
+    static final int ADDR_OF = 27;
+    static final int DEREF = 28;
+    static final int PLUS = 29;
+    static final int MINUS = 30;
+    static final int TIMES = 31;
+    static final int DIVIDE = 32;
+    static final int MODULO = 33;
+    static final int AND = 34;
+    static final int OR = 35;
+    static final int EQUALS = 36;
+    static final int NOT_EQUALS = 37;
+    static final int LESS = 38;
+    static final int GREATER = 39;
+    static final int LESS_EQ = 40;
+    static final int GREATER_EQ = 41;
+
+    // The tags of the operators, which share their write methods
+    private static final Map<Class<?>, Integer> OPERATORS = new HashMap<Class<?>, Integer>();
+    static {
+        OPERATORS.put(UnaryMinusExp.class, MINUS_UNARY);
+        OPERATORS.put(NotExp.class, NOT);
+        OPERATORS.put(AddrOfExp.class, ADDR_OF);
+        OPERATORS.put(DeRefExp.class, DEREF);
+        OPERATORS.put(PlusExp.class, PLUS);
+        OPERATORS.put(MinusExp.class, MINUS);
+        OPERATORS.put(TimesExp.class, TIMES);
+        OPERATORS.put(DivideExp.class, DIVIDE);
+        OPERATORS.put(ModuloExp.class, MODULO);
+        OPERATORS.put(AndExp.class, AND);
+        OPERATORS.put(OrExp.class, OR);
+        OPERATORS.put(EqualsExp.class, EQUALS);
+        OPERATORS.put(NotEqualsExp.class, NOT_EQUALS);
+        OPERATORS.put(LessExp.class, LESS);
+        OPERATORS.put(GreaterExp.class, GREATER);
+        OPERATORS.put(LessEqExp.class, LESS_EQ);
+        OPERATORS.put(GreaterEqExp.class, GREATER_EQ);
+    }
+
+    static int operator(Exp exp) {
+        return OPERATORS.get(exp.getClass());
+    }
+
+    private final File dir;
+
+    public AstCache(File dir) {
+        this.dir = dir;
+    }
+
+    // The key of a source text
+    static String key(String source) {
+        return IncrementalCompiler.digest(source);
+    }
+
+    private File file(String key) {
+        return new File(dir, key + ".ast");
+    }
+
+    // The program cached under key, or null if there is none (or it cannot
+    // be read). Names are entered into ctx. With -stream the declarations
+    // are then given to ctx.stream one by one, as from the parser, and the
+    // program returned is empty.
+    Program load(String key, CompileContext ctx) {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(file(key).toPath());
+        } catch (IOException ex) {
+            return null;
+        }
+        if (data.length < HEADER)
+            return null;
+        In in = new In(data, ctx);
+        if (in.fixed() != MAGIC || in.fixed() != VERSION)
+            return null;
+        CRC32 crc = new CRC32();
+        crc.update(data, HEADER, data.length - HEADER);
+        if (in.fixed() != (int) crc.getValue())
+            return null;
+
+        Program program = (Program) in.node();
+        if (ctx.stream == null)
+            return program;
+        Decl[] decls = program.declList().decls;
+        for (int i = 0; i < decls.length; ++i) {
+            ctx.stream.add(decls[i]);
+            decls[i] = null;
+        }
+        return new Program(new DeclList(Collections.<Decl>emptyList()));
+    }
+
+    // Cache program, the tree of the source with the given key
+    void store(String key, Program program) throws IOException {
+        Out out = new Out();
+        out.tree(program);
+        int length = out.size;
+        CRC32 crc = new CRC32();
+        crc.update(out.data, HEADER, length - HEADER);
+        out.size = 0;
+        out.fixed(MAGIC);
+        out.fixed(VERSION);
+        out.fixed((int) crc.getValue());
+
+        dir.mkdirs();
+        File temp = File.createTempFile(key, ".tmp", dir);
+        try {
+            OutputStream os = new FileOutputStream(temp);
+            try {
+                os.write(out.data, 0, length);
+            } finally {
+                os.close();
+            }
+            Files.move(temp.toPath(), file(key).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            temp.delete();
+        }
+    }
+
+    // Writes the tree into a growing byte array
+    static class Out {
+        private byte[] data = new byte[1 << 16];
+        private int size = HEADER;
+        private final Map<String, Integer> names = new HashMap<String, Integer>();
+        // the nodes left to write, the next one on top
+        private Ast[] nodes = new Ast[64];
+        private int top;
+
+        private void room(int n) {
+            if (size + n > data.length)
+                data = Arrays.copyOf(data, Math.max(2 * data.length, size + n));
+        }
+
+        private void fixed(int v) {
+            data[size++] = (byte) (v >>> 24);
+            data[size++] = (byte) (v >>> 16);
+            data[size++] = (byte) (v >>> 8);
+            data[size++] = (byte) v;
+        }
+
+        void tag(int tag) {
+            room(1);
+            data[size++] = (byte) tag;
+        }
+
+        void number(int v) {
+            room(5);
+            while ((v & ~0x7f) != 0) {
+                data[size++] = (byte) ((v & 0x7f) | 0x80);
+                v >>>= 7;
+            }
+            data[size++] = (byte) v;
+        }
+
+        void name(String name) {
+            Integer index = names.get(name);
+            if (index != null) {
+                number(index);
+                return;
+            }
+            number(names.size());
+            names.put(name, names.size());
+            // identifiers are ASCII
+            number(name.length());
+            room(name.length());
+            for (int i = 0; i < name.length(); ++i)
+                data[size++] = (byte) name.charAt(i);
+        }
+
+        // A literal of ASCII chars is written as bytes, any other as chars;
+        // the low bit of the length says which
+        void literal(StringSlice s) {
+            int n = s.length();
+            boolean ascii = true;
+            for (int i = 0; i < n && ascii; ++i)
+                ascii = s.charAt(i) < 0x80;
+            number(n << 1 | (ascii ? 0 : 1));
+            room(ascii ? n : 2 * n);
+            for (int i = 0; i < n; ++i) {
+                char c = s.charAt(i);
+                if (!ascii)
+                    data[size++] = (byte) (c >>> 8);
+                data[size++] = (byte) c;
+            }
+        }
+
+        // Write node, which may be null, after the node being written and
+        // the kids given before it
+        void node(Ast node) {
+            if (top == nodes.length)
+                nodes = Arrays.copyOf(nodes, 2 * top);
+            nodes[top++] = node;
+        }
+
+        void nodes(Ast[] nodes) {
+            number(nodes.length);
+            for (Ast node: nodes)
+                node(node);
+        }
+
+        // Write root and all its kids
+        void tree(Ast root) {
+            node(root);
+            while (top > 0) {
+                Ast node = nodes[--top];
+                nodes[top] = null;
+                if (node == null) {
+                    tag(NULL);
+                    continue;
+                }
+                // the kids come off the stack in the order they were given
+                int kids = top;
+                node.write(this);
+                for (int i = kids, j = top - 1; i < j; ++i, --j) {
+                    Ast t = nodes[i];
+                    nodes[i] = nodes[j];
+                    nodes[j] = t;
+                }
+            }
+        }
+    }
+
+    // Reads a tree back; see Out
+    static class In {
+        private final byte[] data;
+        private int pos;
+        private final Names names;
+        private int[] ids = new int[256];
+        private int count;
+
+        In(byte[] data, CompileContext ctx) {
+            this.data = data;
+            names = ctx.names;
+        }
+
+        private int fixed() {
+            int v = (data[pos] & 0xff) << 24 | (data[pos + 1] & 0xff) << 16
+                | (data[pos + 2] & 0xff) << 8 | (data[pos + 3] & 0xff);
+            pos += 4;
+            return v;
+        }
+
+        int tag() {
+            return data[pos++];
+        }
+
+        int number() {
+            int v = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[pos++];
+                v |= (b & 0x7f) << shift;
+                if (b >= 0)
+                    return v;
+            }
+        }
+
+        private Id id() {
+            int line = number();
+            int column = number();
+            int index = number();
+            if (index == count) {
+                int n = number();
+                if (count == ids.length)
+                    ids = Arrays.copyOf(ids, 2 * count);
+                ids[count++] = names.intern(data, pos, n);
+                pos += n;
+            }
+            int id = ids[index];
+            return new Id(line, column, names.name(id), id);
+        }
+
+        private StringSlice literal() {
+            int n = number();
+            boolean ascii = (n & 1) == 0;
+            n >>>= 1;
+            StringSlice s;
+            if (ascii) {
+                // the bytes are kept, not copied
+                s = new StringSlice(data, pos, n);
+                pos += n;
+            } else {
+                char[] chars = new char[n];
+                for (int i = 0; i < n; ++i, pos += 2)
+                    chars[i] = (char) ((data[pos] & 0xff) << 8 | (data[pos + 1] & 0xff));
+                s = new StringSlice(chars, 0, n);
+            }
+            return s;
+        }
+
+        private Type type() {
+            String name = number() == 0 ? Type.voidTypeName : Type.intTypeName;
+            int size = number() - 1;
+            int numPointers = number();
+            return Type.CreateArrayPointerType(name, size, numPointers);
+        }
+
+        private Id name() {
+            tag();
+            return id();
+        }
+
+        private Type typeNode() {
+            tag();
+            return type();
+        }
+
+        // The nodes being read, with the number of kids each has left to
+        // read and where its fields and kids start on the value stack
+        private int[] tags = new int[64];
+        private int[] kids = new int[64];
+        private int[] bases = new int[64];
+        private int depth;
+        private Object[] values = new Object[64];
+        private int size;
+
+        private void value(Object v) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, 2 * size);
+            values[size++] = v;
+        }
+
+        // Read a tree
+        Ast node() {
+            int bottom = depth;
+            do {
+                if (open()) {
+                    // close the nodes the one on top of the values ends
+                    while (depth > bottom && --kids[depth - 1] == 0) {
+                        --depth;
+                        Ast node = build(tags[depth], bases[depth]);
+                        value(node);
+                    }
+                }
+            } while (depth > bottom);
+            Ast node = (Ast) values[--size];
+            values[size] = null;
+            return node;
+        }
+
+        // Read a tag and the fields that come before any kids. True if the
+        // node is then complete and on top of the values; else it is left
+        // open for its kids.
+        private boolean open() {
+            int tag = tag();
+            int base = size;
+            int n;
+            switch (tag) {
+            case NULL:
+                value(null);
+                return true;
+            case VAR: {
+                Type type = typeNode();
+                value(new VarDecl(type, name()));
+                return true;
+            }
+            case FORMAL: {
+                Type type = typeNode();
+                value(new FormalDecl(type, name()));
+                return true;
+            }
+            case TYPE:
+                value(type());
+                return true;
+            case INT_LIT: {
+                int line = number();
+                int column = number();
+                value(new IntLit(line, column, number()));
+                return true;
+            }
+            case STRING_LIT: {
+                int line = number();
+                int column = number();
+                value(new StringLit(line, column, literal()));
+                return true;
+            }
+            case ID:
+                value(id());
+                return true;
+            case FN:
+                value(typeNode());
+                value(name());
+                n = 2;
+                break;
+            case FN_PRE:
+                value(typeNode());
+                value(name());
+                n = 1;
+                break;
+            case CALL:
+                value(name());
+                n = 1;
+                break;
+            case DECLS:
+            case FORMALS:
+            case STMTS:
+            case ACTUALS:
+                n = number();
+                break;
+            case PROGRAM:
+            case COMPOUND:
+            case CALL_STMT:
+            case RETURN:
+            case MINUS_UNARY:
+            case NOT:
+            case ADDR_OF:
+            case DEREF:
+                n = 1;
+                break;
+            case IF:
+            case WHILE:
+                n = 3;
+                break;
+            case IF_ELSE:
+            case FOR:
+                n = 5;
+                break;
+            default:
+                // BODY, ASSIGN, ARRAY and the binary operators
+                n = 2;
+                break;
+            }
+            if (n == 0) {
+                value(build(tag, base));
+                return true;
+            }
+            if (depth == tags.length) {
+                tags = Arrays.copyOf(tags, 2 * depth);
+                kids = Arrays.copyOf(kids, 2 * depth);
+                bases = Arrays.copyOf(bases, 2 * depth);
+            }
+            tags[depth] = tag;
+            kids[depth] = n;
+            bases[depth++] = base;
+            return false;
+        }
+
+        // The node tag made of the values from base up, which are popped
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private Ast build(int tag, int base) {
+            Object[] v = values;
+            List list = null;
+            if (tag == DECLS || tag == FORMALS || tag == STMTS || tag == ACTUALS) {
+                list = new ArrayList<Object>(size - base);
+                for (int i = base; i < size; ++i)
+                    list.add(v[i]);
+            }
+            // they are left in place until they are overwritten
+            size = base;
+            switch (tag) {
+            case PROGRAM:
+                return new Program((DeclList) v[base]);
+            case DECLS:
+                return new DeclList(list);
+            case FN:
+                return new FnDecl((Type) v[base], (Id) v[base + 1], (FormalsList) v[base + 2], (FnBody) v[base + 3]);
+            case FN_PRE:
+                return new FnPreDecl((Type) v[base], (Id) v[base + 1], (FormalsList) v[base + 2]);
+            case FORMALS:
+                return new FormalsList(list);
+            case BODY:
+                return new FnBody((DeclList) v[base], (StmtList) v[base + 1]);
+            case STMTS:
+                return new StmtList(list);
+            case ASSIGN:
+                return new AssignStmt((Exp) v[base], (Exp) v[base + 1]);
+            case COMPOUND: {
+                BinaryExp exp = (BinaryExp) v[base];
+                return new AssignStmt(exp.exp1, exp);
+            }
+            case IF:
+                return new IfStmt((Exp) v[base], (DeclList) v[base + 1], (StmtList) v[base + 2]);
+            case IF_ELSE:
+                return new IfElseStmt((Exp) v[base], (DeclList) v[base + 1], (StmtList) v[base + 2],
+                        (DeclList) v[base + 3], (StmtList) v[base + 4]);
+            case WHILE:
+                return new WhileStmt((Exp) v[base], (DeclList) v[base + 1], (StmtList) v[base + 2]);
+            case FOR:
+                return new ForStmt((Stmt) v[base], (Exp) v[base + 1], (Stmt) v[base + 2], (DeclList) v[base + 3],
+                        (StmtList) v[base + 4]);
+            case CALL_STMT:
+                return new CallStmt((CallExp) v[base]);
+            case RETURN:
+                return new ReturnStmt((Exp) v[base]);
+            case ARRAY:
+                return new ArrayExp((Exp) v[base], (Exp) v[base + 1]);
+            case CALL:
+                return new CallExp((Id) v[base], (ActualList) v[base + 1]);
+            case ACTUALS:
+                return new ActualList(list);
+            case MINUS_UNARY:
+                return new UnaryMinusExp((Exp) v[base]);
+            case NOT:
+                return new NotExp((Exp) v[base]);
+            case ADDR_OF:
+                return new AddrOfExp((Exp) v[base]);
+            case DEREF:
+                return new DeRefExp((Exp) v[base]);
+            }
+
+            Exp exp1 = (Exp) v[base];
+            Exp exp2 = (Exp) v[base + 1];
+            switch (tag) {
+            case PLUS:
+                return new PlusExp(exp1, exp2);
+            case MINUS:
+                return new MinusExp(exp1, exp2);
+            case TIMES:
+                return new TimesExp(exp1, exp2);
+            case DIVIDE:
+                return new DivideExp(exp1, exp2);
+            case MODULO:
+                return new ModuloExp(exp1, exp2);
+            case AND:
+                return new AndExp(exp1, exp2);
+            case OR:
+                return new OrExp(exp1, exp2);
+            case EQUALS:
+                return new EqualsExp(exp1, exp2);
+            case NOT_EQUALS:
+                return new NotEqualsExp(exp1, exp2);
+            case LESS:
+                return new LessExp(exp1, exp2);
+            case GREATER:
+                return new GreaterExp(exp1, exp2);
+            case LESS_EQ:
+                return new LessEqExp(exp1, exp2);
+            case GREATER_EQ:
+                return new GreaterEqExp(exp1, exp2);
+            }
+            throw new IllegalStateException("bad AST cache tag " + tag);
+        }
+    }
+}
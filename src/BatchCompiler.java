@@ -0,0 +1,205 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Batch mode of HIRCompiler: compiles many SimpleC files in one JVM.
+//
+//   HIRCompiler -batch [options] [-jobs N] <input>...
+//
+// An input is a directory (searched recursively for .c/.C files), a glob
+// such as gen/**/*.c, a manifest @files.txt naming one file per line, or a
+// single file. Every file is compiled to a .hir file next to it. The files
+// are handed to a work-stealing pool largest first, so a big file does not
+// end up running alone at the end, and a bad file does not stop the others.
+class BatchCompiler {
+    static int run(String[] args) {
+        int jobs = Runtime.getRuntime().availableProcessors();
+        final CompileOptions options = new CompileOptions();
+        Set<Path> files = new LinkedHashSet<Path>();
+        try {
+            for (int i = 0; i < args.length; ++i) {
+                if (args[i].equals("-jobs") && i + 1 < args.length)
+                    jobs = Integer.parseInt(args[++i]);
+                else if (!options.parseFlag(args[i]))
+                    collect(args[i], files);
+            }
+        } catch (IOException ex) {
+            System.err.println("batch: " + ex);
+            return -1;
+        } catch (NumberFormatException ex) {
+            System.err.println("batch: bad number of jobs: " + ex.getMessage());
+            return -1;
+        }
+        if (files.isEmpty()) {
+            System.err.println("batch: no SimpleC files found");
+            return -1;
+        }
+
+        // Largest first
+        List<Path> order = new ArrayList<Path>(files);
+        final Map<Path, Long> sizes = new HashMap<Path, Long>();
+        for (Path p: order)
+            sizes.put(p, p.toFile().length());
+        Collections.sort(order, new Comparator<Path>() {
+            public int compare(Path a, Path b) {
+                return Long.compare(sizes.get(b), sizes.get(a));
+            }
+        });
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, jobs));
+        List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+        for (final Path source: order) {
+            results.add(pool.submit(new Callable<Boolean>() {
+                public Boolean call() {
+                    return compileAndReport(source, options);
+                }
+            }));
+        }
+
+        int failed = 0;
+        for (Future<Boolean> r: results) {
+            try {
+                if (!r.get())
+                    failed++;
+            } catch (Exception ex) {
+                failed++;
+            }
+        }
+        pool.shutdown();
+
+        if (options.cache != null) {
+            try {
+                options.cache.save();
+            } catch (IOException ex) {
+                System.err.println("Cannot save the function cache: " + ex);
+            }
+        }
+
+        System.out.println("batch: " + order.size() + " files, "
+                + (order.size() - failed) + " compiled, " + failed + " failed");
+        return failed == 0 ? 0 : 1;
+    }
+
+    // Compile one file and print its result (with its diagnostics) as a
+    // single block.
+    private static boolean compileAndReport(Path source, CompileOptions options) {
+        Path hir = hirPath(source);
+        CompileResult result = null;
+        String failure = null;
+        try {
+            result = compile(source, hir, options);
+        } catch (IOException ex) {
+            failure = ex.toString();
+        }
+        boolean ok = result != null && result.succeeded();
+        if (!ok)
+            hir.toFile().delete();
+
+        synchronized (System.out) {
+            if (ok)
+                System.out.println("ok      " + source + " -> " + hir);
+            else
+                System.out.println("FAILED  " + source);
+            if (failure != null)
+                System.out.println(failure);
+            if (result != null) {
+                for (Diagnostic d: result.diagnostics())
+                    System.out.println(d);
+                if (result.stats() != null)
+                    System.out.println(result.stats());
+            }
+            System.out.flush();
+        }
+        return ok;
+    }
+
+    private static CompileResult compile(Path source, Path hir, CompileOptions options)
+            throws IOException {
+        Reader reader = HIRCompiler.source(source.toFile(), options);
+        Writer writer = null;
+        try {
+            writer = new BufferedWriter(HIRCompiler.output(hir.toFile(), options));
+            return HIRCompiler.compile(reader, writer, options);
+        } finally {
+            reader.close();
+            if (writer != null)
+                writer.close();
+        }
+    }
+
+    // foo/bar.c -> foo/bar.hir
+    static Path hirPath(Path source) {
+        String name = source.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (dot > 0)
+            name = name.substring(0, dot);
+        return source.resolveSibling(name + ".hir");
+    }
+
+    private static void collect(String arg, final Set<Path> files) throws IOException {
+        if (arg.startsWith("@")) {
+            for (String line: Files.readAllLines(Paths.get(arg.substring(1)))) {
+                line = line.trim();
+                if (line.length() > 0 && !line.startsWith("#"))
+                    collect(line, files);
+            }
+            return;
+        }
+
+        int glob = firstGlobChar(arg);
+        if (glob >= 0) {
+            // Walk from the directory part before the first wildcard
+            int slash = Math.max(arg.lastIndexOf('/', glob), arg.lastIndexOf(File.separatorChar, glob));
+            Path base = Paths.get(slash < 0 ? "." : arg.substring(0, slash + 1));
+            final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + arg);
+            final boolean dotBase = slash < 0;
+            walk(base, files, new PathMatcher() {
+                public boolean matches(Path p) {
+                    return matcher.matches(dotBase ? base(p) : p);
+                }
+            });
+            return;
+        }
+
+        Path path = Paths.get(arg);
+        if (Files.isDirectory(path)) {
+            walk(path, files, new PathMatcher() {
+                public boolean matches(Path p) {
+                    String name = p.getFileName().toString();
+                    return name.endsWith(".c") || name.endsWith(".C");
+                }
+            });
+        } else if (Files.exists(path)) {
+            files.add(path);
+        } else {
+            throw new FileNotFoundException(arg);
+        }
+    }
+
+    // ./a/b.c -> a/b.c
+    private static Path base(Path p) {
+        return p.getNameCount() > 1 ? p.subpath(1, p.getNameCount()) : p;
+    }
+
+    private static void walk(Path dir, final Set<Path> files, final PathMatcher matcher)
+            throws IOException {
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, java.nio.file.attribute.BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && matcher.matches(file))
+                    files.add(file);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static int firstGlobChar(String s) {
+        for (int i = 0; i < s.length(); ++i) {
+            char c = s.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{')
+                return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,316 @@
+import java.io.*;
+import java.lang.management.*;
+import java.nio.file.*;
+import java.util.*;
+import java_cup.runtime.*;
+
+// Micro benchmarks for the hot paths of the compiler:
+//
+//   lexer     Yylex.next_token over the whole input          tokens/s
+//   fastlexer FastLexer.next_token over the whole input      tokens/s
+//   bytelexer ByteLexer.next_token over its UTF-8 bytes        tokens/s
+//   parser    parser.parse, fed from a TokenStream            declarations/s
+//   descent   DescentParser.parse of the same TokenStream      declarations/s
+//   astcache  AstCache.load of the same program, file and all  declarations/s
+//   codegen   Program.compile of an already parsed program    declarations/s
+//   compile   HIRCompiler.compile, source text to HIR text    bytes/s
+//
+//   java Bench [-time seconds] [compiler flags] [benchmark...] [file.c...]
+//   java Bench -scale <knob> <n,n,...> [-<knob> n...] [compiler flags]
+//
+// Without files it runs on a small program (test.C) and on a medium and a
+// very large one made by WorkloadGenerator. Every benchmark is warmed up first and then repeated for the
+// given time (at least three times). Besides the speed it reports the
+// bytes allocated per operation and the garbage collections during the
+// measurement, so a regression in either shows up as a number.
+//
+// With -scale it compiles WorkloadGenerator programs with the given knob
+// set to each value in turn (the other knobs as given, or their defaults)
+// and prints compile time and allocation against input size. If the time
+// per KB keeps growing with the size, something is worse than linear.
+class Bench {
+    private static final String[] BENCHMARKS = { "lexer", "fastlexer", "bytelexer", "parser", "descent", "astcache", "codegen", "compile" };
+
+    private static double seconds = 2;
+    private static CompileOptions options = new CompileOptions();
+
+    public static void main(String[] args) throws Exception {
+        List<String> benchmarks = new ArrayList<String>();
+        Map<String, String> inputs = new LinkedHashMap<String, String>();
+        WorkloadGenerator generator = new WorkloadGenerator();
+        String scale = null;
+        String[] values = null;
+        for (int i = 0; i < args.length; ++i) {
+            if (args[i].equals("-time") && i + 1 < args.length)
+                seconds = Double.parseDouble(args[++i]);
+            else if (args[i].equals("-scale") && i + 2 < args.length) {
+                scale = args[++i];
+                values = args[++i].split(",");
+            } else if (args[i].startsWith("-") && i + 1 < args.length && args[i + 1].matches("[0-9]+")
+                    && generator.set(args[i].substring(1), Long.parseLong(args[i + 1])))
+                i++;
+            else if (options.parseFlag(args[i]))
+                continue;
+            else if (Arrays.asList(BENCHMARKS).contains(args[i]))
+                benchmarks.add(args[i]);
+            else
+                inputs.put(args[i], new String(Files.readAllBytes(Paths.get(args[i])), "UTF-8"));
+        }
+        if (scale != null) {
+            scale(generator, scale, values);
+            return;
+        }
+        if (benchmarks.isEmpty())
+            benchmarks.addAll(Arrays.asList(BENCHMARKS));
+        if (inputs.isEmpty()) {
+            String small = sample();
+            inputs.put("small", small);
+            WorkloadGenerator g = new WorkloadGenerator();
+            g.functions = 100;
+            inputs.put("medium", g.generate());
+            g.functions = 5000;
+            inputs.put("large", g.generate());
+        }
+
+        System.out.printf("%-9s %-10s %8s %12s %22s %12s %s%n",
+                "bench", "input", "ops", "ms/op", "throughput", "alloc/op", "gc");
+        for (Map.Entry<String, String> input: inputs.entrySet())
+            for (String benchmark: benchmarks)
+                run(benchmark, input.getKey(), input.getValue());
+    }
+
+    private static void scale(WorkloadGenerator generator, String knob, String[] values) throws Exception {
+        System.out.printf("%-10s %12s %12s %12s %12s%n", knob, "KB", "ms", "ms/KB", "alloc/KB");
+        boolean warm = false;
+        for (String value: values) {
+            if (!generator.set(knob, Long.parseLong(value)))
+                throw new IllegalArgumentException("unknown knob " + knob);
+            final String source = generator.generate();
+            final Writer out = nullWriter();
+            Op op = new Op() {
+                long run() throws Exception {
+                    if (!HIRCompiler.compile(new StringReader(source), out, options).succeeded())
+                        throw new IllegalStateException("generated program does not compile");
+                    return source.length();
+                }
+            };
+            if (!warm) {
+                measure(op);
+                warm = true;
+            }
+            long[] m = measure(op);
+            double kb = source.length() / 1024.0;
+            double ms = m[1] / 1e6 / m[0];
+            System.out.printf("%-10s %12.0f %12.3f %12.4f %12s%n",
+                    value, kb, ms, ms / kb, human(m[3] / (double) m[0] / kb) + "B");
+        }
+    }
+
+    // One benchmark operation; returns the number of units it processed
+    static abstract class Op {
+        abstract long run() throws Exception;
+    }
+
+    private static void run(String benchmark, String name, final String source) throws Exception {
+        Op op;
+        String unit;
+        if (benchmark.equals("lexer")) {
+            unit = "tokens";
+            op = new Op() {
+                long run() throws Exception {
+                    Yylex lexer = new Yylex(new StringReader(source), new CompileContext(null, options));
+                    long n = 1;
+                    while (lexer.next_token().sym != sym.EOF)
+                        n++;
+                    return n;
+                }
+            };
+        } else if (benchmark.equals("fastlexer")) {
+            // a faster lexer is no use if it is not the same one
+            String diff = FastLexer.compare(source);
+            if (diff != null)
+                throw new IllegalStateException("FastLexer differs from Yylex on " + name + ": " + diff);
+            unit = "tokens";
+            op = new Op() {
+                long run() throws Exception {
+                    FastLexer lexer = new FastLexer(new StringReader(source), new CompileContext(null, options));
+                    long n = 1;
+                    while (lexer.next_token().sym != sym.EOF)
+                        n++;
+                    return n;
+                }
+            };
+        } else if (benchmark.equals("bytelexer")) {
+            unit = "tokens";
+            op = new Op() {
+                long run() throws Exception {
+                    byte[] bytes = source.getBytes(Utf8Source.UTF8);
+                    ByteLexer lexer = new ByteLexer(bytes, bytes.length, new CompileContext(null, options));
+                    long n = 1;
+                    while (lexer.next_token().sym != sym.EOF)
+                        n++;
+                    return n;
+                }
+            };
+        } else if (benchmark.equals("parser")) {
+            unit = "decls";
+            final TokenStream tokens = scan(source);
+            op = new Op() {
+                long run() throws Exception {
+                    return parse(tokens).declList().decls.length;
+                }
+            };
+        } else if (benchmark.equals("descent")) {
+            String diff = DescentParser.compare(source);
+            if (diff != null)
+                throw new IllegalStateException("DescentParser differs from CUP on " + name + ": " + diff);
+            unit = "decls";
+            final TokenStream tokens = scan(source);
+            op = new Op() {
+                long run() throws Exception {
+                    Program program = DescentParser.parse(tokens, new CompileContext(null, options));
+                    if (program == null)
+                        throw new IllegalStateException("input does not parse");
+                    return program.declList().decls.length;
+                }
+            };
+        } else if (benchmark.equals("astcache")) {
+            unit = "decls";
+            File dir = Files.createTempDirectory("astcache").toFile();
+            final AstCache cache = new AstCache(dir);
+            final String key = AstCache.key(source);
+            cache.store(key, parse(scan(source)));
+            op = new Op() {
+                long run() throws Exception {
+                    Program program = cache.load(key, new CompileContext(null, options));
+                    if (program == null)
+                        throw new IllegalStateException("cannot load the cached tree");
+                    return program.declList().decls.length;
+                }
+            };
+            for (File f: dir.listFiles())
+                f.deleteOnExit();
+            dir.deleteOnExit();
+        } else if (benchmark.equals("codegen")) {
+            unit = "decls";
+            final Program program = parse(scan(source));
+            final PrintWriter out = new PrintWriter(nullWriter());
+            op = new Op() {
+                long run() throws Exception {
+                    program.compile(new CompileContext(null, options), out);
+                    return program.declList().decls.length;
+                }
+            };
+        } else {
+            unit = "bytes";
+            final Writer out = nullWriter();
+            op = new Op() {
+                long run() throws Exception {
+                    if (!HIRCompiler.compile(new StringReader(source), out, options).succeeded())
+                        throw new IllegalStateException("input does not compile");
+                    return source.length();
+                }
+            };
+        }
+
+        // Warm up, then measure
+        measure(op);
+        long[] m = measure(op);
+        long ops = m[0], nanos = m[1], units = m[2], allocated = m[3], gcs = m[4], gcMillis = m[5];
+
+        System.out.printf("%-9s %-10s %8d %12.3f %15s %-6s %12s %d (%d ms)%n",
+                benchmark, name, ops, nanos / 1e6 / ops,
+                human(units * 1e9 / nanos), unit + "/s", human(allocated / (double) ops) + "B", gcs, gcMillis);
+    }
+
+    // Returns { ops, nanoseconds, units, bytes allocated, gcs, gc ms }
+    private static long[] measure(Op op) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long gcs0 = gcCount(), gcMillis0 = gcMillis();
+        long allocated0 = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        long deadline = start + (long) (seconds * 1e9);
+        long ops = 0, units = 0, now;
+        do {
+            units += op.run();
+            ops++;
+            now = System.nanoTime();
+        } while (ops < 3 || now < deadline);
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocated0;
+        return new long[] { ops, now - start, units, allocated, gcCount() - gcs0, gcMillis() - gcMillis0 };
+    }
+
+    private static TokenStream scan(String source) throws Exception {
+        CompileContext ctx = new CompileContext(null, options);
+        return TokenStream.scan(new Yylex(new StringReader(source), ctx), ctx.errors);
+    }
+
+    private static Program parse(TokenStream tokens) throws Exception {
+        CompileContext ctx = new CompileContext(null, options);
+        Symbol result = new parser(tokens.scanner(ctx.errors), ctx).parse();
+        if (result == null || !(result.value instanceof Program))
+            throw new IllegalStateException("input does not parse");
+        return (Program) result.value;
+    }
+
+    private static long gcCount() {
+        long n = 0;
+        for (GarbageCollectorMXBean gc: ManagementFactory.getGarbageCollectorMXBeans())
+            n += gc.getCollectionCount();
+        return n;
+    }
+
+    private static long gcMillis() {
+        long n = 0;
+        for (GarbageCollectorMXBean gc: ManagementFactory.getGarbageCollectorMXBeans())
+            n += gc.getCollectionTime();
+        return n;
+    }
+
+    private static String human(double x) {
+        if (x >= 1e9)
+            return String.format("%.2f G", x / 1e9);
+        if (x >= 1e6)
+            return String.format("%.2f M", x / 1e6);
+        if (x >= 1e3)
+            return String.format("%.2f K", x / 1e3);
+        return String.format("%.0f ", x);
+    }
+
+    private static Writer nullWriter() {
+        return new Writer() {
+            public void write(char[] b, int off, int len) {
+            }
+
+            public void flush() {
+            }
+
+            public void close() {
+            }
+        };
+    }
+
+    // test.C if it is around, else a program like it
+    private static String sample() throws IOException {
+        File test = new File("test.C");
+        if (test.exists())
+            return new String(Files.readAllBytes(test.toPath()), "UTF-8");
+        return "int add(int a, int b) {\n    return a + b;\n}\n\n"
+            + "int gcd(int a, int b) {\n"
+            + "    while (a != b) {\n"
+            + "        if (a > b) { a = a - b; } else { b = b - a; }\n"
+            + "    }\n"
+            + "    return a;\n"
+            + "}\n\n"
+            + "void main() {\n"
+            + "    int i; int sum;\n"
+            + "    sum = 0;\n"
+            + "    for (i = 0; i <= 10; i = i + 1) {\n"
+            + "        printf(i, \"\\n\");\n"
+            + "        sum = add(sum, gcd(i, 3));\n"
+            + "    }\n"
+            + "    printf(\"sum = \", sum, \"\\n\");\n"
+            + "}\n";
+    }
+}
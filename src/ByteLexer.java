@@ -0,0 +1,64 @@
+import java.util.*;
+
+// FastLexer for a source in UTF-8 bytes (-utf8, see Utf8Source). All
+// tokens are ASCII, so it scans the bytes as they are, without decoding
+// them first; the rules are LexerCore's, and so the tokens are the same.
+//
+// Only string literals with characters beyond ASCII are decoded, and
+// illegal characters, whose whole UTF-8 sequence is reported as one.
+// Columns count chars, as in the other lexers.
+class ByteLexer extends LexerCore {
+    private final byte[] text;
+
+    ByteLexer(Utf8Source source, CompileContext ctx) {
+        this(source.bytes, source.length, ctx);
+    }
+
+    ByteLexer(byte[] text, int length, CompileContext ctx) {
+        super(0, length, length, ctx);
+        this.text = text;
+    }
+
+    int get(int i) {
+        return text[i] & 0xff;
+    }
+
+    private static final byte[] SPACES = new byte[BLOCK];
+    static {
+        Arrays.fill(SPACES, (byte) ' ');
+    }
+
+    int spaces(int i, int n) {
+        return Arrays.mismatch(text, i, i + n, SPACES, 0, n);
+    }
+
+    // Identifiers are ASCII
+    int intern(int start, int n) {
+        return names.intern(text, start, n);
+    }
+
+    // An ASCII character, or the whole UTF-8 sequence of one beyond
+    int character(int start) {
+        int b = get(start);
+        if (b < 0x80)
+            return 1;
+        int expected = b >= 0xf0 ? 4 : b >= 0xe0 ? 3 : b >= 0xc0 ? 2 : 1;
+        int n = 1;
+        while (n < expected && start + n < length && (text[start + n] & 0xc0) == 0x80)
+            n++;
+        return n;
+    }
+
+    String text(int start, int n) {
+        if (n == 1 && text[start] >= 0)
+            return String.valueOf((char) text[start]);
+        return new String(text, start, n, Utf8Source.UTF8);
+    }
+
+    // An ASCII literal is a slice of the bytes, any other decoded
+    StringSlice literal(int start, int n, boolean ascii) {
+        if (ascii)
+            return new StringSlice(text, start, n);
+        return new StringSlice(new String(text, start, n, Utf8Source.UTF8));
+    }
+}
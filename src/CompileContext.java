@@ -0,0 +1,54 @@
+import java.io.*;
+
+// This class holds everything that belongs to a single compilation: the
+// error log, the lexer's column counter and the counters the symbol table
+// uses for globals and labels. Nothing here is static, so any number of
+// compilations can run side by side in one JVM as long as each one has its
+// own context.
+
+class CompileContext {
+    final Errors errors;
+    final CompileOptions options;
+    final CharNum charNum = new CharNum();
+    final Names names;
+
+    // numbering of global variables ($N) and labels (~N), program-wide
+    int globalIndex;
+    int labelIndex;
+
+    // set while the program is compiled declaration by declaration
+    StreamingCompiler stream;
+
+    // null unless options.stats
+    final CompileStats stats;
+
+    public CompileContext() {
+        this(System.out, new CompileOptions());
+    }
+
+    // Diagnostics of this compilation are printed to log as they are
+    // reported; with a null log they are only collected in errors.
+    public CompileContext(PrintStream log, CompileOptions options) {
+        errors = new Errors(log);
+        this.options = options;
+        names = new Names();
+        stats = options.stats ? new CompileStats() : null;
+    }
+
+    // Context for one function compiled on its own (see ParallelCodegen);
+    // its diagnostics and stats are merged into the parent's afterwards.
+    // It shares the parent's names, so that an id means the same name in
+    // both (the symbol table is keyed by ids).
+    CompileContext(CompileContext parent) {
+        this(parent, parent.names);
+    }
+
+    // The same with names of its own, for a lexer running beside others
+    // (see ParallelLexer); their ids have to be mapped to the parent's.
+    CompileContext(CompileContext parent, Names names) {
+        errors = new Errors(null);
+        options = parent.options;
+        this.names = names;
+        stats = parent.stats != null ? new CompileStats() : null;
+    }
+}
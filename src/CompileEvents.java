@@ -0,0 +1,33 @@
+import jdk.jfr.*;
+
+// Flight Recorder events of the compiler. They are always emitted and cost
+// next to nothing unless a recording has them enabled, e.g.
+//
+//   java -XX:StartFlightRecording:filename=c.jfr HIRCompiler big.c big.hir
+
+@Name("simplec.CompilePhase")
+@Label("SimpleC Compile Phase")
+@Category("SimpleC")
+@Description("Parsing (with lexing) or code generation of one program")
+class CompilePhaseEvent extends Event {
+    @Label("Phase")
+    String phase;
+}
+
+@Name("simplec.CompileFunction")
+@Label("SimpleC Function")
+@Category("SimpleC")
+@Description("Code generation of one function")
+class CompileFunctionEvent extends Event {
+    @Label("Function")
+    String function;
+
+    @Label("Locals")
+    int locals;
+
+    @Label("Temps")
+    int temps;
+
+    @Label("HIR Lines")
+    int lines;
+}
@@ -0,0 +1,139 @@
+import java.io.*;
+
+// Settings for one compilation. The defaults give the classic behaviour;
+// every setting can also be switched on by a command line flag (see
+// parseFlag).
+public class CompileOptions {
+    boolean streaming;
+    boolean parallel;
+    FunctionCache cache;
+    AstCache astCache;
+    boolean stats;
+    boolean mapped;
+    boolean prelex;
+    boolean fastLexer;
+    boolean utf8;
+    boolean descent;
+    boolean lazy;
+
+    // Compile each top-level declaration as soon as it is parsed and write
+    // out its HIR right away, so peak memory stays proportional to the
+    // largest function instead of the whole program.
+    public CompileOptions streaming(boolean on) {
+        streaming = on;
+        return this;
+    }
+
+    // Compile the functions of a program in parallel, with prelex and
+    // fastLexer lex large sources in parallel too (see ParallelLexer), and
+    // with descent parse them in parallel (see ParallelParser). The output
+    // is the same as without it.
+    public CompileOptions parallel(boolean on) {
+        parallel = on;
+        return this;
+    }
+
+    // Reuse the HIR of functions that have not changed since they were
+    // compiled with this cache. The output is the same as without it.
+    public CompileOptions cache(FunctionCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    // Keep the trees of parsed sources in astCache and take them from there
+    // instead of parsing a source again whose text has not changed. The
+    // output is the same as without it.
+    public CompileOptions astCache(AstCache astCache) {
+        this.astCache = astCache;
+        return this;
+    }
+
+    // Measure time and allocation per phase and count what was compiled;
+    // see CompileStats.
+    public CompileOptions stats(boolean on) {
+        stats = on;
+        return this;
+    }
+
+    // Read source files through a memory mapping straight into the lexer's
+    // buffer, rather than through a Reader (see MappedSource). The lexer
+    // still scans chars. Only files can be mapped; other sources are read
+    // as usual.
+    public CompileOptions mapped(boolean on) {
+        mapped = on;
+        return this;
+    }
+
+    // Scan the whole source into a TokenStream before parsing it
+    public CompileOptions prelex(boolean on) {
+        prelex = on;
+        return this;
+    }
+
+    // Scan with the hand-written FastLexer instead of the generated Yylex.
+    // The tokens are the same.
+    public CompileOptions fastLexer(boolean on) {
+        fastLexer = on;
+        return this;
+    }
+
+    // Read source files as UTF-8 bytes and scan them as such with ByteLexer
+    // (see Utf8Source), and write the HIR in UTF-8. String literals and
+    // comments may then hold any character. Only files are read this way;
+    // other sources are read as usual.
+    public CompileOptions utf8(boolean on) {
+        utf8 = on;
+        return this;
+    }
+
+    // Parse with the hand-written DescentParser instead of the generated
+    // CUP parser, from a TokenStream as with prelex. The tree and the
+    // diagnostics are the same.
+    public CompileOptions descent(boolean on) {
+        descent = on;
+        return this;
+    }
+
+    // With descent, only check the syntax of function bodies while parsing,
+    // and build the tree of each when code generation gets to it; it is
+    // dropped again after. The output is the same as without it.
+    public CompileOptions lazy(boolean on) {
+        lazy = on;
+        return this;
+    }
+
+    // Recognize a command line flag; returns false if arg is not one.
+    boolean parseFlag(String arg) {
+        if (arg.equals("-stream"))
+            streaming = true;
+        else if (arg.equals("-parallel"))
+            parallel = true;
+        else if (arg.equals("-stats") || arg.equals("--stats"))
+            stats = true;
+        else if (arg.equals("-mmap"))
+            mapped = true;
+        else if (arg.equals("-prelex"))
+            prelex = true;
+        else if (arg.equals("-fastlex"))
+            fastLexer = true;
+        else if (arg.equals("-utf8"))
+            utf8 = true;
+        else if (arg.equals("-descent"))
+            descent = true;
+        else if (arg.equals("-lazy"))
+            lazy = true;
+        else if (arg.equals("-cache"))
+            cache = new FunctionCache();
+        else if (arg.startsWith("-cache="))
+            cache = new FunctionCache(new File(arg.substring("-cache=".length())));
+        else if (arg.startsWith("-astcache="))
+            astCache = new AstCache(new File(arg.substring("-astcache=".length())));
+        else
+            return false;
+        return true;
+    }
+
+    static String usage() {
+        return "[-stream] [-parallel] [-cache[=file]] [-astcache=dir] [-stats] [-mmap] [-prelex] [-fastlex] [-utf8] [-descent] [-lazy]";
+    }
+}
@@ -0,0 +1,37 @@
+import java.util.*;
+
+// Outcome of HIRCompiler.compile: whether HIR was produced, and every
+// diagnostic reported on the way, in the order they were found.
+public class CompileResult {
+    private boolean succeeded;
+    private List<Diagnostic> diagnostics;
+    private CompileStats stats;
+
+    CompileResult(boolean succeeded, List<Diagnostic> diagnostics, CompileStats stats) {
+        this.succeeded = succeeded;
+        this.diagnostics = Collections.unmodifiableList(diagnostics);
+        this.stats = stats;
+    }
+
+    // True if the program compiled and its HIR has been written
+    public boolean succeeded() {
+        return succeeded;
+    }
+
+    public List<Diagnostic> diagnostics() {
+        return diagnostics;
+    }
+
+    // Time, memory and counts of the compilation if it was asked for with
+    // CompileOptions.stats, else null
+    public CompileStats stats() {
+        return stats;
+    }
+
+    public boolean hasErrors() {
+        for (Diagnostic d: diagnostics)
+            if (d.severity().isError())
+                return true;
+        return false;
+    }
+}
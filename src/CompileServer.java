@@ -0,0 +1,298 @@
+import java.io.*;
+import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Server mode of HIRCompiler: a resident process that keeps the lexer,
+// parser and code generator loaded and JIT-compiled, so that editors and
+// build steps do not pay JVM start-up for every compile.
+//
+//   HIRCompiler -server [options] [-jobs N] [-warmup N] <socket>   listen on a Unix domain socket
+//   HIRCompiler -server [options] [-jobs N] [-warmup N] -          requests on stdin, answers on stdout
+//
+// Requests and answers are framed. A client may send several requests
+// without waiting; they are compiled concurrently and every answer carries
+// the id of its request, so answers can come back in any order:
+//
+//   compile <id> <n>\n<n bytes of SimpleC source>
+//   result <id> ok|error <h> <d>\n<h bytes of HIR><d bytes of diagnostics>
+//
+// All text is UTF-8. The id is any word chosen by the client. A source may
+// be at most MAX_SOURCE bytes long; a bad request gets an error answer and
+// ends the connection. At most MAX_PENDING requests of a connection are
+// compiled or waiting at a time; the server reads no further requests
+// from it until one of them has been answered.
+//
+// The server warms itself up in the background by compiling a small
+// program -warmup times (default 2000, 0 for none); requests are served
+// meanwhile, only slower.
+class CompileServer {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    static final int MAX_SOURCE = 64 << 20;
+    static final int MAX_PENDING = 64;
+
+    private ExecutorService pool;
+    private CompileOptions options;
+
+    CompileServer(int jobs, CompileOptions options) {
+        this.options = options;
+        pool = Executors.newFixedThreadPool(jobs, new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "compile");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    static int run(String[] args) {
+        int jobs = Runtime.getRuntime().availableProcessors();
+        int warmUps = 2000;
+        CompileOptions options = new CompileOptions();
+        String where = null;
+        for (int i = 0; i < args.length; ++i) {
+            if (args[i].equals("-jobs") && i + 1 < args.length)
+                jobs = Integer.parseInt(args[++i]);
+            else if (args[i].equals("-warmup") && i + 1 < args.length)
+                warmUps = Integer.parseInt(args[++i]);
+            else if (!options.parseFlag(args[i]))
+                where = args[i];
+        }
+        if (where == null) {
+            System.err.println("usage: HIRCompiler -server " + CompileOptions.usage() + " [-jobs N] [-warmup N] <socket | ->");
+            return -1;
+        }
+
+        final CompileServer server = new CompileServer(Math.max(1, jobs), options);
+        Runtime.getRuntime().addShutdownHook(new Thread() {
+            public void run() {
+                server.saveCache();
+            }
+        });
+        server.warmUpInBackground(warmUps);
+        try {
+            if (where.equals("-"))
+                server.serve(System.in, System.out);
+            else
+                server.listen(Paths.get(where));
+        } catch (IOException ex) {
+            System.err.println("server: " + ex);
+            return -1;
+        }
+        return 0;
+    }
+
+    // Write the function cache back to its file, if there is one; done
+    // when the server shuts down
+    void saveCache() {
+        if (options.cache == null)
+            return;
+        try {
+            options.cache.save();
+        } catch (IOException ex) {
+            System.err.println("Cannot save the function cache: " + ex);
+        }
+    }
+
+    // Accept connections on a Unix domain socket until the process is killed.
+    void listen(final Path socket) throws IOException {
+        ServerSocketChannel listener = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        Files.deleteIfExists(socket);
+        listener.bind(UnixDomainSocketAddress.of(socket));
+        Runtime.getRuntime().addShutdownHook(new Thread() {
+            public void run() {
+                try {
+                    Files.deleteIfExists(socket);
+                } catch (IOException ex) {
+                }
+            }
+        });
+        System.err.println("server: listening on " + socket);
+
+        while (true) {
+            final SocketChannel channel = listener.accept();
+            Thread t = new Thread("connection") {
+                public void run() {
+                    try {
+                        serve(input(channel), output(channel));
+                    } catch (IOException ex) {
+                        // client went away
+                    } finally {
+                        try {
+                            channel.close();
+                        } catch (IOException ex) {
+                        }
+                    }
+                }
+            };
+            t.setDaemon(true);
+            t.start();
+        }
+    }
+
+    // Serve one connection: read requests until end of input, compile them
+    // on the pool and write the answers as they complete.
+    void serve(InputStream rawIn, OutputStream rawOut) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(rawIn));
+        final OutputStream out = new BufferedOutputStream(rawOut);
+        final Semaphore pending = new Semaphore(MAX_PENDING);
+
+        String header;
+        while ((header = readLine(in)) != null) {
+            header = header.trim();
+            if (header.length() == 0)
+                continue;
+            String[] words = header.split(" +");
+            if (words.length != 3 || !words[0].equals("compile")) {
+                answer(out, "-", false, "", "bad request: " + header + "\n");
+                break;
+            }
+            final String id = words[1];
+            int length;
+            try {
+                length = Integer.parseInt(words[2]);
+            } catch (NumberFormatException ex) {
+                length = -1;
+            }
+            if (length < 0 || length > MAX_SOURCE) {
+                answer(out, id, false, "", "bad request: " + header + "\n");
+                break;
+            }
+            byte[] source = new byte[length];
+            in.readFully(source);
+
+            final String text = new String(source, UTF8);
+            pending.acquireUninterruptibly();
+            pool.execute(new Runnable() {
+                public void run() {
+                    try {
+                        String[] result = compile(text);
+                        answer(out, id, result[0] != null, result[0] == null ? "" : result[0], result[1]);
+                    } catch (IOException ex) {
+                        // client went away
+                    } finally {
+                        pending.release();
+                    }
+                }
+            });
+        }
+
+        // Let every request of this client finish before hanging up
+        pending.acquireUninterruptibly(MAX_PENDING);
+        out.flush();
+    }
+
+    // Returns { HIR text or null on error, diagnostics }. A compiler crash
+    // fails only this request.
+    String[] compile(String source) {
+        StringWriter hir = new StringWriter();
+        CompileResult result;
+        try {
+            result = HIRCompiler.compile(new StringReader(source), hir, options);
+        } catch (IOException ex) {
+            // cannot happen with in-memory reader and writer
+            return new String[] { null, ex + "\n" };
+        } catch (RuntimeException ex) {
+            return new String[] { null, "internal error: " + ex + "\n" };
+        }
+        StringBuilder diagnostics = new StringBuilder();
+        for (Diagnostic d: result.diagnostics())
+            diagnostics.append(d).append('\n');
+        return new String[] { result.succeeded() ? hir.toString() : null, diagnostics.toString() };
+    }
+
+    private static void answer(OutputStream out, String id, boolean ok, String hir, String diagnostics)
+            throws IOException {
+        byte[] h = hir.getBytes(UTF8);
+        byte[] d = diagnostics.getBytes(UTF8);
+        byte[] header = ("result " + id + (ok ? " ok " : " error ") + h.length + " " + d.length + "\n").getBytes(UTF8);
+        synchronized (out) {
+            out.write(header);
+            out.write(h);
+            out.write(d);
+            out.flush();
+        }
+    }
+
+    // Read a '\n' terminated header line, or null at end of input.
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int c;
+        while ((c = in.read()) != -1 && c != '\n')
+            line.write(c);
+        if (c == -1 && line.size() == 0)
+            return null;
+        return new String(line.toByteArray(), UTF8);
+    }
+
+    // Compile a small program times times on a thread of its own, until the
+    // hot paths are JIT-compiled, so that later requests are fast without
+    // the first ones having to wait.
+    void warmUpInBackground(final int times) {
+        if (times <= 0)
+            return;
+        Thread t = new Thread("warm-up") {
+            public void run() {
+                warmUp(times);
+            }
+        };
+        t.setDaemon(true);
+        t.start();
+    }
+
+    void warmUp(int times) {
+        String sample = "int g;\n"
+            + "int add(int a, int b) { return a + b; }\n"
+            + "int gcd(int a, int b) {\n"
+            + "    while (a != b) { if (a > b) { a = a - b; } else { b = b - a; } }\n"
+            + "    return a;\n"
+            + "}\n"
+            + "void main() {\n"
+            + "    int i; int sum;\n"
+            + "    sum = 0;\n"
+            + "    for (i = 0; i <= 10 && sum < 100 || !(i == 3); i = i + 1) {\n"
+            + "        int j;\n"
+            + "        if (i % 2 == 0) { j = -i; } else { j = i * 2 / 1; }\n"
+            + "        printf(j, \"\\n\");\n"
+            + "        sum = add(sum, gcd(j, 3));\n"
+            + "    }\n"
+            + "    scanf(g);\n"
+            + "}\n";
+        for (int i = 0; i < times; ++i)
+            compile(sample);
+    }
+
+    // Streams over a socket channel. Reads and writes use the channel
+    // directly, so one thread can write answers while another is blocked
+    // reading the next request.
+    private static InputStream input(final SocketChannel channel) {
+        return new InputStream() {
+            public int read() throws IOException {
+                byte[] b = new byte[1];
+                return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+            }
+
+            public int read(byte[] b, int off, int len) throws IOException {
+                return channel.read(ByteBuffer.wrap(b, off, len));
+            }
+        };
+    }
+
+    private static OutputStream output(final SocketChannel channel) {
+        return new OutputStream() {
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            public void write(byte[] b, int off, int len) throws IOException {
+                ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+            }
+        };
+    }
+}
@@ -0,0 +1,112 @@
+import java.lang.management.*;
+
+// Where one compilation spent its time and memory (-stats). Every phase has
+// its wall time and the bytes allocated in it; the phases do not overlap.
+// To time lexing as a phase of its own, the whole source is lexed into a
+// token stream first, as with -prelex, and the parser reads from that;
+// symbol entry is likewise not part of code generation. The token count
+// includes the final EOF, whichever lexer and parser are used.
+// With -parallel the code generation of all threads is added up. With
+// -stream functions are compiled while parsing, which then counts as parse
+// time; with -lazy function bodies are parsed during code generation,
+// which then counts as code generation time.
+public class CompileStats {
+    private static final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Set while a parser builds the AST on this thread, to count its nodes
+    static final ThreadLocal<CompileStats> building = new ThreadLocal<CompileStats>();
+
+    long lexNanos, lexBytes;
+    long parseNanos, parseBytes;
+    long symbolNanos, symbolBytes;
+    long codegenNanos, codegenBytes;
+
+    long tokens;
+    long astNodes;
+    long functions;
+    long instructions;
+    long labels;
+    long temps;
+    long strings;
+
+    // time and memory spent on this thread that belong to another phase
+    // than the one being measured
+    long excludedNanos, excludedBytes;
+
+    private long symbolStart, symbolStartBytes;
+
+    public long lexNanos() { return lexNanos; }
+    public long lexBytes() { return lexBytes; }
+    public long parseNanos() { return parseNanos; }
+    public long parseBytes() { return parseBytes; }
+    public long symbolNanos() { return symbolNanos; }
+    public long symbolBytes() { return symbolBytes; }
+    public long codegenNanos() { return codegenNanos; }
+    public long codegenBytes() { return codegenBytes; }
+
+    public long tokens() { return tokens; }
+    public long astNodes() { return astNodes; }
+    public long functions() { return functions; }
+    public long instructions() { return instructions; }
+    public long labels() { return labels; }
+    public long temps() { return temps; }
+    public long strings() { return strings; }
+
+    // Bytes allocated by the current thread so far
+    static long allocated() {
+        return threads.getCurrentThreadAllocatedBytes();
+    }
+
+    void beginSymbol() {
+        symbolStart = System.nanoTime();
+        symbolStartBytes = allocated();
+    }
+
+    void endSymbol() {
+        long t = System.nanoTime() - symbolStart;
+        long b = allocated() - symbolStartBytes;
+        symbolNanos += t;
+        symbolBytes += b;
+        excludedNanos += t;
+        excludedBytes += b;
+    }
+
+    // Count the instructions in code, i.e. its lines except labels and
+    // blank ones
+    void countInstructions(CodeBuffer code) {
+        for (String s: code.lines())
+            if (s.length() > 0 && !s.endsWith(":"))
+                instructions++;
+    }
+
+    // Add the figures of a part compiled on its own (see ParallelCodegen)
+    void add(CompileStats o) {
+        symbolNanos += o.symbolNanos;
+        symbolBytes += o.symbolBytes;
+        codegenNanos += o.codegenNanos;
+        codegenBytes += o.codegenBytes;
+        astNodes += o.astNodes;
+        functions += o.functions;
+        temps += o.temps;
+    }
+
+    public String toString() {
+        StringBuilder b = new StringBuilder();
+        b.append(String.format("%-10s %10s %12s%n", "phase", "ms", "allocated"));
+        row(b, "lex", lexNanos, lexBytes);
+        row(b, "parse", parseNanos, parseBytes);
+        row(b, "symbols", symbolNanos, symbolBytes);
+        row(b, "codegen", codegenNanos, codegenBytes);
+        row(b, "total", lexNanos + parseNanos + symbolNanos + codegenNanos,
+                lexBytes + parseBytes + symbolBytes + codegenBytes);
+        b.append(String.format("%d tokens, %d AST nodes, %d functions, %d HIR instructions, "
+                + "%d labels, %d temps, %d strings",
+                tokens, astNodes, functions, instructions, labels, temps, strings));
+        return b.toString();
+    }
+
+    private static void row(StringBuilder b, String phase, long nanos, long bytes) {
+        b.append(String.format("%-10s %10.3f %9.1f KB%n", phase, nanos / 1e6, bytes / 1024.0));
+    }
+}
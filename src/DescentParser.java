@@ -0,0 +1,850 @@
+import java.io.*;
+import java.lang.reflect.*;
+import java.nio.file.*;
+import java.util.*;
+import java_cup.runtime.*;
+
+// A hand-written parser for the grammar of c.cup (-descent). Declarations
+// are parsed by recursive descent, statements likewise and expressions by
+// precedence climbing (Pratt parsing) over the precedence levels of c.cup,
+// but on a stack of their own (see run).
+// It reads the token arrays of a TokenStream directly, so there is no
+// Symbol per token and no LR stack, and it needs none of the tables the
+// CUP parser unpacks when it is first loaded. It builds the same AST with
+// the same constructors, hands declarations to the streaming compiler at
+// the same point, and reports the lexer's diagnostics at the same tokens.
+//
+// It does not recover from syntax errors itself. At the first one it
+// stops, and the CUP parser parses the stream again from the start, with
+// the diagnostics reported so far left out; it reports that error and all
+// later ones exactly as it would have alone. A lexer failure is left to
+// it the same way. Run "java DescentParser file.c..." to compare the two
+// parsers on any input; Bench does so before it times them.
+class DescentParser {
+    // Binary operators by precedence, lowest first, as in c.cup
+    private static final int OR = 1, AND = 2, EQUALITY = 3, RELATION = 4, SUM = 5, PRODUCT = 6;
+    // binds tighter than any binary operator: the operand of !, & and *
+    private static final int UNARY = 7;
+
+    // by token kind; PERCENT is the last terminal
+    private static final int[] PRECEDENCE = new int[sym.PERCENT + 1];
+    static {
+        PRECEDENCE[sym.OR] = OR;
+        PRECEDENCE[sym.AND] = AND;
+        PRECEDENCE[sym.EQUALS] = PRECEDENCE[sym.NOTEQUALS] = EQUALITY;
+        PRECEDENCE[sym.LESS] = PRECEDENCE[sym.GREATER] = RELATION;
+        PRECEDENCE[sym.LESSEQ] = PRECEDENCE[sym.GREATEREQ] = RELATION;
+        PRECEDENCE[sym.PLUS] = PRECEDENCE[sym.MINUS] = SUM;
+        PRECEDENCE[sym.TIMES] = PRECEDENCE[sym.DIVIDE] = PRECEDENCE[sym.PERCENT] = PRODUCT;
+    }
+
+    // Thrown at the first syntax error, or where the lexer failed
+    private static class GiveUp extends Exception {
+        GiveUp() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final TokenStream tokens;
+    private final CompileContext ctx;
+    private int pos;            // the lookahead token
+    private int reported;       // lexer diagnostics reported so far
+    private boolean quiet;      // leave the lexer's diagnostics to the caller
+    private boolean lazy;       // only check function bodies (-lazy)
+
+    private DescentParser(TokenStream tokens, CompileContext ctx) {
+        this.tokens = tokens;
+        this.ctx = ctx;
+        lazy = ctx != null && ctx.options.lazy;
+    }
+
+    // Parse a program from tokens. Returns null if there were syntax
+    // errors, which have all been reported to ctx.
+    static Program parse(TokenStream tokens, CompileContext ctx) throws Exception {
+        DescentParser p = new DescentParser(tokens, ctx);
+        try {
+            return p.program();
+        } catch (GiveUp e) {
+            // a syntax error
+        }
+
+        // Nothing is compiled after a syntax error; the declarations before
+        // it have been streamed already.
+        StreamingCompiler stream = ctx.stream;
+        ctx.stream = null;
+        try {
+            parser P = new parser(tokens.scanner(ctx.errors, p.reported), ctx);
+            Symbol result = P.parse();
+            if (result != null && result.value instanceof Program && P.syntaxErrors == 0)
+                throw new IllegalStateException("DescentParser gave up where the CUP parser did not");
+        } finally {
+            ctx.stream = stream;
+        }
+        return null;
+    }
+
+    // The declarations in tokens[from, to), or null if that range does not
+    // hold whole declarations (see ParallelParser). Nothing is reported.
+    static List<Decl> decls(TokenStream tokens, CompileContext ctx, int from, int to) {
+        DescentParser p = new DescentParser(tokens, ctx);
+        p.pos = from;
+        p.quiet = true;
+        List<Decl> decls = new ArrayList<Decl>();
+        try {
+            while (p.pos < to)
+                decls.add(p.decl());
+        } catch (GiveUp e) {
+            return null;
+        }
+        return p.pos == to ? decls : null;
+    }
+
+    // The body of a function that starts at tokens[start], which has been
+    // checked already (see FnDecl). Nothing is reported.
+    static FnBody fnBody(TokenStream tokens, int start) {
+        DescentParser p = new DescentParser(tokens, null);
+        p.pos = start;
+        p.quiet = true;
+        try {
+            return p.fnBody();
+        } catch (GiveUp e) {
+            throw new IllegalStateException("function body at line " + tokens.line(start) + " does not parse");
+        }
+    }
+
+    // Tokens
+
+    private int kind() {
+        return tokens.kind(pos);
+    }
+
+    // The kind of the token after the lookahead, or -1 if there is none
+    private int next() {
+        return pos + 1 < tokens.size() ? tokens.kind(pos + 1) : -1;
+    }
+
+    // Move on to the next token. Like the CUP parser, read it right away
+    // and report what the lexer found on the way to it.
+    private void advance() throws GiveUp {
+        pos++;
+        reached();
+    }
+
+    private void reached() throws GiveUp {
+        if (!quiet)
+            reported = tokens.report(pos, reported, ctx.errors);
+        if (pos >= tokens.size())
+            throw new GiveUp();
+    }
+
+    private void expect(int kind) throws GiveUp {
+        if (kind() != kind)
+            throw new GiveUp();
+        advance();
+    }
+
+    // Declarations
+
+    private Program program() throws GiveUp {
+        reached();
+        List<Decl> decls = new ArrayList<Decl>();
+        while (kind() != sym.EOF) {
+            Decl d = decl();
+            if (ctx.stream != null)
+                ctx.stream.add(d);
+            else
+                decls.add(d);
+        }
+        return new Program(new DeclList(decls));
+    }
+
+    private Decl decl() throws GiveUp {
+        String t = type();
+        int p = pointers();
+        Id i = id();
+        switch (kind()) {
+        case sym.SEMICOLON:
+        case sym.LSQBRACKET:
+            return varDecl(t, p, i);
+        case sym.LPAREN: {
+            Type type = p > 0 ? Type.CreatePointerType(t, p) : Type.CreateSimpleType(t);
+            FormalsList f = formals();
+            if (kind() == sym.SEMICOLON) {
+                advance();
+                return new FnPreDecl(type, i, f);
+            }
+            if (lazy) {
+                int start = pos;
+                build = false;
+                run(BLOCK, 0);
+                build = true;
+                return new FnDecl(type, i, f, tokens, start);
+            }
+            return new FnDecl(type, i, f, fnBody());
+        }
+        default:
+            throw new GiveUp();
+        }
+    }
+
+    // The rest of a varDecl after its name
+    private VarDecl varDecl(String t, int p, Id i) throws GiveUp {
+        if (kind() == sym.SEMICOLON) {
+            advance();
+            if (!build)
+                return null;
+            return new VarDecl(p > 0 ? Type.CreatePointerType(t, p) : Type.CreateSimpleType(t), i);
+        }
+        expect(sym.LSQBRACKET);
+        if (kind() != sym.INTLITERAL)
+            throw new GiveUp();
+        int size = tokens.value(pos);
+        advance();
+        expect(sym.RSQBRACKET);
+        expect(sym.SEMICOLON);
+        if (!build)
+            return null;
+        return new VarDecl(p > 0 ? Type.CreateArrayPointerType(t, size, p) : Type.CreateArrayType(t, size), i);
+    }
+
+    private List<Decl> varDeclList() throws GiveUp {
+        List<Decl> l = build ? new ArrayList<Decl>() : null;
+        while (kind() == sym.INT || kind() == sym.VOID) {
+            String t = type();
+            int p = pointers();
+            VarDecl d = varDecl(t, p, id());
+            if (build)
+                l.add(d);
+        }
+        return l;
+    }
+
+    private String type() throws GiveUp {
+        int k = kind();
+        if (k != sym.INT && k != sym.VOID)
+            throw new GiveUp();
+        advance();
+        return k == sym.INT ? Type.intTypeName : Type.voidTypeName;
+    }
+
+    private int pointers() throws GiveUp {
+        int p = 0;
+        while (kind() == sym.TIMES) {
+            advance();
+            p++;
+        }
+        return p;
+    }
+
+    private Id id() throws GiveUp {
+        if (kind() != sym.ID)
+            throw new GiveUp();
+        int v = tokens.value(pos);
+        Id i = build ? new Id(tokens.line(pos), tokens.column(pos), tokens.name(v), v) : null;
+        advance();
+        return i;
+    }
+
+    private FormalsList formals() throws GiveUp {
+        expect(sym.LPAREN);
+        List<FormalDecl> l = new ArrayList<FormalDecl>();
+        if (kind() != sym.RPAREN) {
+            while (true) {
+                String t = type();
+                int p = pointers();
+                Id i = id();
+                l.add(new FormalDecl(p > 0 ? Type.CreatePointerType(t, p) : Type.CreateSimpleType(t), i));
+                if (kind() != sym.COMMA)
+                    break;
+                advance();
+            }
+        }
+        expect(sym.RPAREN);
+        return new FormalsList(l);
+    }
+
+    private FnBody fnBody() throws GiveUp {
+        run(BLOCK, 0);
+        List<Stmt> s = pop();
+        List<Decl> v = pop();
+        return new FnBody(new DeclList(v), new StmtList(s));
+    }
+
+    // Statements and expressions
+
+    // They nest without limit, so they are parsed on stacks of their own
+    // rather than by recursion. A step parses up to where the grammar
+    // nests, then pushes what is left to do after the nested part and the
+    // nested part itself; the nodes parsed so far are kept on the value
+    // stack. Without building (-lazy) the same steps only check a function
+    // body, and the value stack is not used.
+
+    // Steps, each with an int argument where noted
+    private static final int BLOCK = 0, BLOCK_END = 1, STMTS = 2, STMT = 3,
+        IF_ELSE = 4, IF_ELSE_END = 5, WHILE_END = 6, RETURN_END = 7,
+        FOR_COND = 8, FOR_NEXT = 9, FOR_BODY = 10, FOR_END = 11, CALL_STMT = 12,
+        CONDITION = 13, EXPECT = 14, ASSIGN = 15, ASSIGN_OP = 16, ASSIGN_END = 17,
+        EXP = 18, OPERATORS = 19, BINARY = 20, OPERAND = 21, PREFIX = 22,
+        LOC = 23, INDEXES = 24, INDEX = 25, CALL = 26, ARGS = 27, CALL_END = 28;
+
+    private int[] steps = new int[64];
+    private int[] args = new int[64];
+    private int top;
+    private Object[] values = new Object[64];
+    private int count;
+    private boolean build = true;
+
+    private void push(int step, int arg) {
+        if (top == steps.length) {
+            steps = Arrays.copyOf(steps, 2 * top);
+            args = Arrays.copyOf(args, 2 * top);
+        }
+        steps[top] = step;
+        args[top++] = arg;
+    }
+
+    // Without building there are no values: the stack is left alone
+    private void value(Object v) {
+        if (!build)
+            return;
+        if (count == values.length)
+            values = Arrays.copyOf(values, 2 * count);
+        values[count++] = v;
+    }
+
+    // Add the value on top to the list under it
+    @SuppressWarnings("unchecked")
+    private void add() {
+        if (build) {
+            Object v = values[--count];
+            values[count] = null;
+            ((List<Object>) values[count - 1]).add(v);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T pop() {
+        if (!build)
+            return null;
+        T v = (T) values[--count];
+        values[count] = null;
+        return v;
+    }
+
+    // Do step and all the steps it pushes
+    private void run(int step, int arg) throws GiveUp {
+        int bottom = top;
+        push(step, arg);
+        while (top > bottom) {
+            --top;
+            int s = steps[top];
+            if (s < EXP)
+                statement(s, args[top]);
+            else
+                expression(s, args[top]);
+        }
+    }
+
+    // The steps before EXP
+    private void statement(int step, int arg) throws GiveUp {
+        switch (step) {
+        // { varDecls stmts }, leaving the list of each
+        case BLOCK:
+            expect(sym.LCURLY);
+            value(varDeclList());
+            value(build ? new ArrayList<Stmt>() : null);
+            push(BLOCK_END, 0);
+            push(STMTS, 0);
+            return;
+        case BLOCK_END:
+            expect(sym.RCURLY);
+            return;
+        // the statements left in a block; arg is 1 after the first one,
+        // which is then on top of the value stack
+        case STMTS:
+            if (arg == 1)
+                add();
+            if (kind() != sym.RCURLY) {
+                push(STMTS, 1);
+                push(STMT, 0);
+            }
+            return;
+
+        case STMT:
+            switch (kind()) {
+            case sym.IF:
+                advance();
+                push(IF_ELSE, 0);
+                push(BLOCK, 0);
+                push(CONDITION, 0);
+                return;
+            case sym.WHILE:
+                advance();
+                push(WHILE_END, 0);
+                push(BLOCK, 0);
+                push(CONDITION, 0);
+                return;
+            case sym.RETURN:
+                advance();
+                push(RETURN_END, 0);
+                if (kind() == sym.SEMICOLON)
+                    value(null);
+                else
+                    push(EXP, OR);
+                return;
+            case sym.FOR:
+                advance();
+                expect(sym.LPAREN);
+                push(FOR_COND, 0);
+                if (kind() == sym.SEMICOLON)
+                    value(null);
+                else
+                    push(ASSIGN, 0);
+                return;
+            case sym.ID:
+                if (next() == sym.LPAREN) {
+                    push(CALL_STMT, 0);
+                    push(CALL, 0);
+                    return;
+                }
+                // fall through
+            default:
+                push(ASSIGN, 1);
+                return;
+            }
+        case IF_ELSE:
+            if (kind() == sym.ELSE) {
+                advance();
+                push(IF_ELSE_END, 0);
+                push(BLOCK, 0);
+                return;
+            } else {
+                List<Stmt> s = pop();
+                List<Decl> v = pop();
+                Exp e = pop();
+                value(build ? new IfStmt(e, new DeclList(v), new StmtList(s)) : null);
+                return;
+            }
+        case IF_ELSE_END: {
+            List<Stmt> s2 = pop();
+            List<Decl> v2 = pop();
+            List<Stmt> s1 = pop();
+            List<Decl> v1 = pop();
+            Exp e = pop();
+            value(build ? new IfElseStmt(e, new DeclList(v1), new StmtList(s1), new DeclList(v2), new StmtList(s2)) : null);
+            return;
+        }
+        case WHILE_END: {
+            List<Stmt> s = pop();
+            List<Decl> v = pop();
+            Exp e = pop();
+            value(build ? new WhileStmt(e, new DeclList(v), new StmtList(s)) : null);
+            return;
+        }
+        case RETURN_END: {
+            expect(sym.SEMICOLON);
+            Exp e = pop();
+            value(build ? new ReturnStmt(e) : null);
+            return;
+        }
+        // for ( [assign] ; exp ; [assign] ) block
+        case FOR_COND:
+            expect(sym.SEMICOLON);
+            push(FOR_NEXT, 0);
+            push(EXP, OR);
+            return;
+        case FOR_NEXT:
+            expect(sym.SEMICOLON);
+            push(FOR_BODY, 0);
+            if (kind() == sym.RPAREN)
+                value(null);
+            else
+                push(ASSIGN, 0);
+            return;
+        case FOR_BODY:
+            expect(sym.RPAREN);
+            push(FOR_END, 0);
+            push(BLOCK, 0);
+            return;
+        case FOR_END: {
+            List<Stmt> s = pop();
+            List<Decl> v = pop();
+            Stmt b = pop();
+            Exp e = pop();
+            Stmt a = pop();
+            value(build ? new ForStmt(a, e, b, new DeclList(v), new StmtList(s)) : null);
+            return;
+        }
+        case CALL_STMT: {
+            CallExp c = pop();
+            value(build ? new CallStmt(c) : null);
+            expect(sym.SEMICOLON);
+            return;
+        }
+        // ( exp )
+        case CONDITION:
+            expect(sym.LPAREN);
+            push(EXPECT, sym.RPAREN);
+            push(EXP, OR);
+            return;
+        // the token kind arg
+        case EXPECT:
+            expect(arg);
+            return;
+        // arg is 1 for an assignment statement, which ends in a semicolon,
+        // and 0 in a for
+        case ASSIGN:
+            if (kind() == sym.ID && next() != sym.LSQBRACKET) {
+                // no index to parse first
+                value(id());
+                statement(ASSIGN_OP, arg);
+            } else {
+                push(ASSIGN_OP, arg);
+                push(LOC, 0);
+            }
+            return;
+        case ASSIGN_OP: {
+            int op = kind();
+            if (op != sym.ASSIGN && op != sym.PLUSEQL && op != sym.MINUSEQL && op != sym.TIMESEQL && op != sym.DIVEQL)
+                throw new GiveUp();
+            advance();
+            push(ASSIGN_END, op << 1 | arg);
+            push(EXP, OR);
+            return;
+        }
+        case ASSIGN_END: {
+            if ((arg & 1) != 0)
+                expect(sym.SEMICOLON);
+            Exp e = pop();
+            Exp l = pop();
+            value(build ? assignment(arg >> 1, l, e) : null);
+            return;
+        }
+        }
+    }
+
+    // EXP and the steps after it
+    private void expression(int step, int arg) throws GiveUp {
+        switch (step) {
+        // An expression of binary operators that bind at least as tight
+        // as arg. EQUALITY and RELATION do not associate: a second one of
+        // the same level in a row is a syntax error, as in the CUP parser.
+        case EXP:
+            // most operands are a single token, and most of those are not
+            // followed by an operator: nothing needs to be pushed for them
+            if (term())
+                operators(arg << 3);
+            else {
+                push(OPERATORS, arg << 3);
+                push(OPERAND, 0);
+            }
+            return;
+        case OPERATORS:
+            operators(arg);
+            return;
+        case BINARY: {
+            Exp right = pop();
+            Exp left = pop();
+            value(build ? binary(arg, left, right) : null);
+            return;
+        }
+        // A prefix operator with its operand, or a term. In c.cup unary
+        // minus has the precedence of binary minus, so its operand takes
+        // in any products that follow; !, & and * take a single operand.
+        case OPERAND:
+            switch (kind()) {
+            case sym.MINUS:
+                advance();
+                push(PREFIX, sym.MINUS);
+                push(EXP, PRODUCT);
+                return;
+            case sym.NOT:
+            case sym.ADDROF:
+                push(PREFIX, kind());
+                advance();
+                push(EXP, UNARY);
+                return;
+            case sym.TIMES:
+                push(LOC, 0);
+                return;
+            case sym.ID:
+                push(next() == sym.LPAREN ? CALL : LOC, 0);
+                return;
+            case sym.LPAREN:
+                advance();
+                push(EXPECT, sym.RPAREN);
+                push(EXP, OR);
+                return;
+            default:
+                throw new GiveUp();
+            }
+        // the prefix operator arg applied to the value on top
+        case PREFIX: {
+            Exp e = pop();
+            if (!build)
+                value(null);
+            else if (arg == sym.MINUS)
+                value(new UnaryMinusExp(e));
+            else if (arg == sym.NOT)
+                value(new NotExp(e));
+            else if (arg == sym.ADDROF)
+                value(new AddrOfExp(e));
+            else
+                value(new DeRefExp(e));
+            return;
+        }
+        // An id or a dereference, indexed any number of times. The operand
+        // of * takes the indexes that follow it if it ends in a loc itself.
+        case LOC:
+            if (kind() == sym.TIMES) {
+                advance();
+                push(INDEXES, 0);
+                push(PREFIX, sym.TIMES);
+                push(EXP, UNARY);
+            } else {
+                value(id());
+                push(INDEXES, 0);
+            }
+            return;
+        case INDEXES:
+            if (kind() == sym.LSQBRACKET) {
+                advance();
+                push(INDEXES, 0);
+                push(INDEX, 0);
+                push(EXPECT, sym.RSQBRACKET);
+                push(EXP, OR);
+            }
+            return;
+        case INDEX: {
+            Exp e = pop();
+            Exp l = pop();
+            value(build ? new ArrayExp(l, e) : null);
+            return;
+        }
+        case CALL:
+            value(id());
+            expect(sym.LPAREN);
+            if (kind() == sym.RPAREN) {
+                advance();
+                Id i = pop();
+                value(build ? new CallExp(i) : null);
+                return;
+            }
+            value(build ? new ArrayList<Exp>() : null);
+            push(CALL_END, 0);
+            push(ARGS, 0);
+            push(EXP, OR);
+            return;
+        // after an argument, which is on top of the value stack
+        case ARGS:
+            add();
+            if (kind() == sym.COMMA) {
+                advance();
+                push(ARGS, 0);
+                push(EXP, OR);
+            }
+            return;
+        case CALL_END: {
+            expect(sym.RPAREN);
+            List<Exp> l = pop();
+            Id i = pop();
+            value(build ? new CallExp(i, new ActualList(l)) : null);
+            return;
+        }
+        default:
+            throw new IllegalStateException("step " + step);
+        }
+    }
+
+    // The operators after an operand; arg is the least precedence shifted
+    // left by 3, and the precedence of the last operator. A right operand
+    // that is a single term and binds no further operator is taken in
+    // here, without pushing anything.
+    private void operators(int arg) throws GiveUp {
+        int min = arg >> 3, last = arg & 7;
+        while (true) {
+            int op = kind();
+            int p = precedence(op);
+            if (p < min || p == 0)
+                return;
+            if (p == last && (p == EQUALITY || p == RELATION))
+                throw new GiveUp();
+            advance();
+            boolean t = term();
+            if (t && precedence(kind()) <= p) {
+                Exp right = pop();
+                Exp left = pop();
+                value(build ? binary(op, left, right) : null);
+                last = p;
+                continue;
+            }
+            push(OPERATORS, min << 3 | p);
+            push(BINARY, op);
+            if (t)
+                push(OPERATORS, (p + 1) << 3);
+            else
+                push(EXP, p + 1);
+            return;
+        }
+    }
+
+    private static int precedence(int kind) {
+        return kind < PRECEDENCE.length ? PRECEDENCE[kind] : 0;
+    }
+
+    // An operand that is a single token: a literal, or an id that is not
+    // called or indexed. False, with nothing read, if there is none.
+    private boolean term() throws GiveUp {
+        switch (kind()) {
+        case sym.INTLITERAL:
+            value(build ? new IntLit(tokens.line(pos), tokens.column(pos), tokens.value(pos)) : null);
+            advance();
+            return true;
+        case sym.STRINGLITERAL:
+            value(build ? new StringLit(tokens.line(pos), tokens.column(pos), tokens.literal(tokens.value(pos))) : null);
+            advance();
+            return true;
+        case sym.ID:
+            if (next() == sym.LPAREN || next() == sym.LSQBRACKET)
+                return false;
+            value(id());
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private static Stmt assignment(int op, Exp l, Exp e) {
+        switch (op) {
+        case sym.PLUSEQL:
+            return new AssignStmt(l, new PlusExp(l, e));
+        case sym.MINUSEQL:
+            return new AssignStmt(l, new MinusExp(l, e));
+        case sym.TIMESEQL:
+            return new AssignStmt(l, new TimesExp(l, e));
+        case sym.DIVEQL:
+            return new AssignStmt(l, new DivideExp(l, e));
+        default:
+            return new AssignStmt(l, e);
+        }
+    }
+
+    private static Exp binary(int op, Exp e1, Exp e2) {
+        switch (op) {
+        case sym.PLUS:
+            return new PlusExp(e1, e2);
+        case sym.MINUS:
+            return new MinusExp(e1, e2);
+        case sym.TIMES:
+            return new TimesExp(e1, e2);
+        case sym.DIVIDE:
+            return new DivideExp(e1, e2);
+        case sym.PERCENT:
+            return new ModuloExp(e1, e2);
+        case sym.AND:
+            return new AndExp(e1, e2);
+        case sym.OR:
+            return new OrExp(e1, e2);
+        case sym.EQUALS:
+            return new EqualsExp(e1, e2);
+        case sym.NOTEQUALS:
+            return new NotEqualsExp(e1, e2);
+        case sym.LESS:
+            return new LessExp(e1, e2);
+        case sym.GREATER:
+            return new GreaterExp(e1, e2);
+        case sym.LESSEQ:
+            return new LessEqExp(e1, e2);
+        default:
+            return new GreaterEqExp(e1, e2);
+        }
+    }
+
+    // Equivalence with the CUP parser
+
+    // Parse source with both parsers; null if they build the same AST and
+    // report the same, or else where they differ.
+    static String compare(String source) {
+        CompileContext lexCtx = new CompileContext(null, new CompileOptions());
+        TokenStream tokens = TokenStream.scan(new Yylex(new StringReader(source), lexCtx), lexCtx.errors);
+
+        CompileContext slow = new CompileContext(null, new CompileOptions());
+        String a;
+        try {
+            parser P = new parser(tokens.scanner(slow.errors), slow);
+            Symbol result = P.parse();
+            Program program = null;
+            if (result != null && result.value instanceof Program && P.syntaxErrors == 0)
+                program = (Program) result.value;
+            a = describe(program, slow);
+        } catch (Exception e) {
+            a = "exception " + e.getClass().getName();
+        }
+
+        CompileContext fast = new CompileContext(null, new CompileOptions());
+        String b;
+        try {
+            b = describe(parse(tokens, fast), fast);
+        } catch (Exception e) {
+            b = "exception " + e.getClass().getName();
+        }
+
+        if (a.equals(b))
+            return null;
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i))
+            i++;
+        int from = Math.max(0, i - 60);
+        return "CUP gives ..." + a.substring(from, Math.min(a.length(), i + 60))
+            + ", DescentParser ..." + b.substring(from, Math.min(b.length(), i + 60));
+    }
+
+    // The diagnostics and the whole tree, field by field
+    private static String describe(Program program, CompileContext ctx) {
+        StringBuilder b = new StringBuilder();
+        for (Diagnostic d: ctx.errors.diagnostics())
+            b.append('[').append(d).append("] ");
+        try {
+            describe(program, b);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        return b.toString();
+    }
+
+    private static void describe(Object o, StringBuilder b) throws IllegalAccessException {
+        if (o instanceof Object[]) {
+            b.append('[');
+            for (Object e: (Object[]) o) {
+                describe(e, b);
+                b.append(',');
+            }
+            b.append(']');
+        } else if (o instanceof Ast) {
+            b.append(o.getClass().getName()).append('(');
+            for (Class c = o.getClass(); c != Object.class; c = c.getSuperclass()) {
+                for (Field f: c.getDeclaredFields()) {
+                    if (Modifier.isStatic(f.getModifiers()))
+                        continue;
+                    f.setAccessible(true);
+                    describe(f.get(o), b);
+                    b.append(' ');
+                }
+            }
+            b.append(')');
+        } else {
+            b.append(o);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int differ = 0;
+        for (String file: args) {
+            String diff = compare(new String(Files.readAllBytes(Paths.get(file))));
+            System.out.println(file + ": " + (diff == null ? "same tree" : diff));
+            if (diff != null)
+                differ++;
+        }
+        System.exit(differ == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,55 @@
+// One error or warning reported while compiling a SimpleC program.
+// toString() gives the form the command line compiler prints, e.g.
+// "3:7 **ERROR** Syntax error".
+public class Diagnostic {
+    public enum Severity {
+        ERROR("ERROR"),
+        WARNING("WARNING"),
+        SEMANTIC_ERROR("SEMANTIC ERROR"),
+        SEMANTIC_WARNING("SEMANTIC WARNING");
+
+        private String label;
+
+        Severity(String label) {
+            this.label = label;
+        }
+
+        public boolean isError() {
+            return this == ERROR || this == SEMANTIC_ERROR;
+        }
+    }
+
+    private int line;
+    private int column;
+    private Severity severity;
+    private String message;
+
+    public Diagnostic(int line, int column, Severity severity, String message) {
+        this.line = line;
+        this.column = column;
+        this.severity = severity;
+        this.message = message;
+    }
+
+    // 1-based; 0 when the position is unknown (e.g. at end of file)
+    public int line() {
+        return line;
+    }
+
+    public int column() {
+        return column;
+    }
+
+    public Severity severity() {
+        return severity;
+    }
+
+    public String message() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return line + ":" + column + " **" + severity.label + "** " + message;
+    }
+}
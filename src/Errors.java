@@ -1,27 +1,70 @@
+import java.io.*;
+import java.util.*;
+
 // This class is used to generate warning and error messages.
+// Each compilation owns its own instance (see CompileContext). Messages are
+// kept as Diagnostics and, if an output stream was given, also printed.
 
 class Errors {
-    static void fatal(int lineNum, int charNum, String msg) {
-        System.out.println(lineNum + ":" + charNum + " **ERROR** " + msg);
+    private PrintStream out;
+    private List<Diagnostic> diagnostics = new ArrayList<Diagnostic>();
+
+    // out may be null to only collect the diagnostics
+    Errors(PrintStream out) {
+        this.out = out;
+    }
+
+    void fatal(int lineNum, int charNum, String msg) {
+        report(new Diagnostic(lineNum, charNum, Diagnostic.Severity.ERROR, msg));
         fatalError = true;
     }
 
-    static void warn(int lineNum, int charNum, String msg) {
-        System.out.println(lineNum + ":" + charNum + " **WARNING** " + msg);
+    void warn(int lineNum, int charNum, String msg) {
+        report(new Diagnostic(lineNum, charNum, Diagnostic.Severity.WARNING, msg));
     }
     
-    static boolean fatalError = false;
+    boolean fatalError = false;
     
-    static void semanticError(int lineNum, int charNum, String msg) {
-        System.out.println(lineNum + ":" + charNum + " **SEMANTIC ERROR** " + msg);
+    void semanticError(int lineNum, int charNum, String msg) {
+        report(new Diagnostic(lineNum, charNum, Diagnostic.Severity.SEMANTIC_ERROR, msg));
         semanticErrors++;
     }
 
-    static void semanticWarn(int lineNum, int charNum, String msg) {
-        System.out.println(lineNum + ":" + charNum + " **SEMANTIC WARNING** " + msg);
+    void semanticWarn(int lineNum, int charNum, String msg) {
+        report(new Diagnostic(lineNum, charNum, Diagnostic.Severity.SEMANTIC_WARNING, msg));
         semanticWarns++;
     }
     
-    static int semanticErrors = 0;
-    static int semanticWarns = 0;
+    int semanticErrors = 0;
+    int semanticWarns = 0;
+
+    List<Diagnostic> diagnostics() {
+        return diagnostics;
+    }
+
+    // Report everything other has collected, in order
+    void merge(Errors other) {
+        for (Diagnostic d: other.diagnostics)
+            report(d);
+        fatalError |= other.fatalError;
+        semanticErrors += other.semanticErrors;
+        semanticWarns += other.semanticWarns;
+    }
+
+    // Report d once more, e.g. one that was found ahead of time
+    void repeat(Diagnostic d) {
+        report(d);
+        if (d.severity() == Diagnostic.Severity.ERROR)
+            fatalError = true;
+        else if (d.severity() == Diagnostic.Severity.SEMANTIC_ERROR)
+            semanticErrors++;
+        else if (d.severity() == Diagnostic.Severity.SEMANTIC_WARNING)
+            semanticWarns++;
+    }
+
+    private void report(Diagnostic d) {
+        diagnostics.add(d);
+        if (out != null)
+            out.println(d);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java_cup.runtime.*;
+
+// A hand-written scanner for the tokens of c.jlex (-fastlex). It holds the
+// whole source in one char array and matches each token with a tight loop
+// and a switch on its first character, where Yylex goes through its state
+// tables one character at a time. Keywords are found with a perfect hash.
+//
+// The tokens, positions and diagnostics are the same as Yylex's, down to
+// its quirks: an unterminated string literal takes the newline after it
+// along without resetting the column, a quote that starts no literal
+// before the end of input is an illegal character. The rules themselves
+// are in LexerCore, which ByteLexer shares. Run "java FastLexer file.c..."
+// to compare it with Yylex on any input; Bench does so before it times
+// them.
+class FastLexer extends LexerCore {
+    private final char[] text;
+
+    FastLexer(MappedSource source, CompileContext ctx) {
+        this(source.text, source.length, ctx);
+    }
+
+    FastLexer(Reader reader, CompileContext ctx) throws IOException {
+        this(new Text(reader), ctx);
+    }
+
+    private FastLexer(Text t, CompileContext ctx) {
+        this(t.chars, t.length, ctx);
+    }
+
+    FastLexer(char[] text, int length, CompileContext ctx) {
+        this(text, 0, length, length, ctx);
+    }
+
+    // Scan the tokens that start in text[from, limit) as if the text began
+    // at from, on line 1 and in column 1. Tokens may look beyond limit, as
+    // they would without it; see ParallelLexer.
+    FastLexer(char[] text, int from, int limit, int length, CompileContext ctx) {
+        super(from, limit, length, ctx);
+        this.text = text;
+    }
+
+    // All of a reader's text
+    static class Text {
+        char[] chars = new char[8192];
+        int length;
+
+        Text(Reader reader) throws IOException {
+            if (reader instanceof MappedSource) {
+                chars = ((MappedSource) reader).text;
+                length = ((MappedSource) reader).length;
+                return;
+            }
+            int n;
+            while ((n = reader.read(chars, length, chars.length - length)) != -1) {
+                length += n;
+                if (length == chars.length)
+                    chars = Arrays.copyOf(chars, 2 * length);
+            }
+        }
+    }
+
+    int get(int i) {
+        return text[i];
+    }
+
+    private static final char[] SPACES = new char[BLOCK];
+    static {
+        Arrays.fill(SPACES, ' ');
+    }
+
+    // Arrays.mismatch, which the JIT compiles to vector compares
+    int spaces(int i, int n) {
+        return Arrays.mismatch(text, i, i + n, SPACES, 0, n);
+    }
+
+    int intern(int start, int n) {
+        return names.intern(text, start, n);
+    }
+
+    // A surrogate pair is one character
+    int character(int start) {
+        return Character.isHighSurrogate(text[start]) && start + 1 < length
+            && Character.isLowSurrogate(text[start + 1]) ? 2 : 1;
+    }
+
+    String text(int start, int n) {
+        return new String(text, start, n);
+    }
+
+    // A slice of the text, which is not copied
+    StringSlice literal(int start, int n, boolean ascii) {
+        return new StringSlice(text, start, n);
+    }
+
+    // The first difference between the tokens and diagnostics of Yylex and
+    // of a FastLexer over source, or null if there is none. Yylex fails on
+    // the first character beyond ASCII it looks at, so the comparison ends
+    // there.
+    static String compare(String source) {
+        CompileContext slow = new CompileContext(null, new CompileOptions());
+        CompileContext fast = new CompileContext(null, new CompileOptions());
+        java_cup.runtime.Scanner yylex = new Yylex(new StringReader(source), slow);
+        char[] chars = source.toCharArray();
+        FastLexer lexer = new FastLexer(chars, chars.length, fast);
+        for (int n = 0; ; ++n) {
+            String a = describe(yylex, slow), b = describe(lexer, fast);
+            if (a.startsWith("exception"))
+                return null;
+            if (!a.equals(b))
+                return "token " + n + ": Yylex gives " + a + ", FastLexer " + b;
+            if (a.startsWith("EOF"))
+                return null;
+        }
+    }
+
+    // The next token of lexer with what it reported on the way
+    private static String describe(java_cup.runtime.Scanner lexer, CompileContext ctx) {
+        int before = ctx.errors.diagnostics().size();
+        StringBuilder b = new StringBuilder();
+        try {
+            Symbol s = lexer.next_token();
+            b.append(s.sym == sym.EOF ? "EOF" : "token " + s.sym);
+            if (s.value instanceof TokenVal) {
+                TokenVal v = (TokenVal) s.value;
+                b.append(" at ").append(v.linenum).append(':').append(v.charnum);
+            }
+            if (s.value instanceof IdTokenVal)
+                b.append(' ').append(((IdTokenVal) s.value).strVal).append(" #").append(((IdTokenVal) s.value).id);
+            else if (s.value instanceof IntLitTokenVal)
+                b.append(' ').append(((IntLitTokenVal) s.value).intVal);
+            else if (s.value instanceof StringLitTokenVal)
+                b.append(' ').append(((StringLitTokenVal) s.value).literal);
+        } catch (Throwable e) {
+            // the class only: a hot throw may come without a message
+            b.setLength(0);
+            b.append("exception ").append(e.getClass().getName());
+        }
+        List<Diagnostic> found = ctx.errors.diagnostics();
+        for (int i = before; i < found.size(); ++i)
+            b.append(" [").append(found.get(i)).append(']');
+        return b.toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int differ = 0;
+        for (String file: args) {
+            String diff = compare(new String(Files.readAllBytes(Paths.get(file))));
+            System.out.println(file + ": " + (diff == null ? "same tokens" : diff));
+            if (diff != null)
+                differ++;
+        }
+        System.exit(differ == 0 ? 0 : 1);
+    }
+}
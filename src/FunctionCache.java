@@ -0,0 +1,145 @@
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.*;
+
+// HIR of functions compiled before, keyed by a fingerprint of the function
+// (see IncrementalCompiler). The code of an entry numbers its labels and
+// strings from 0, so it can be put into any program.
+//
+// One cache can be shared by any number of compilations, also concurrent
+// ones. It keeps the most recently used functions, up to a maximum. A
+// cache with a file is read from it when created and written back by
+// save(), so it survives between runs of the compiler.
+public class FunctionCache {
+    private static final String MAGIC = "SimpleC function cache 2";
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    static class Entry {
+        final CodeBuffer code;
+        final int labels;
+        final List<String> strings;
+
+        Entry(CodeBuffer code, int labels, List<String> strings) {
+            this.code = code;
+            this.labels = labels;
+            this.strings = strings;
+        }
+    }
+
+    private final File file;
+    private final Map<String, Entry> entries;
+
+    public FunctionCache() {
+        this(null, 1 << 18);
+    }
+
+    // A cache kept in file; a missing or unreadable file gives an empty
+    // cache.
+    public FunctionCache(File file) {
+        this(file, 1 << 18);
+    }
+
+    public FunctionCache(File file, final int maxEntries) {
+        this.file = file;
+        entries = new LinkedHashMap<String, Entry>(1024, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        if (file != null && file.exists()) {
+            try {
+                load();
+            } catch (IOException ex) {
+                entries.clear();
+            }
+        }
+    }
+
+    synchronized Entry get(String fingerprint) {
+        return entries.get(fingerprint);
+    }
+
+    synchronized void put(String fingerprint, Entry entry) {
+        entries.put(fingerprint, entry);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Write the cache to its file, if it has one
+    public synchronized void save() throws IOException {
+        if (file == null)
+            return;
+        File temp = new File(file.getPath() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+        try {
+            out.writeUTF(MAGIC);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> e: entries.entrySet()) {
+                writeString(out, e.getKey());
+                out.writeInt(e.getValue().labels);
+                writeStrings(out, e.getValue().strings);
+                writeStrings(out, e.getValue().code.lines());
+            }
+        } finally {
+            out.close();
+        }
+        if (!temp.renameTo(file)) {
+            file.delete();
+            if (!temp.renameTo(file))
+                throw new IOException("cannot write " + file);
+        }
+    }
+
+    private void load() throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (!in.readUTF().equals(MAGIC))
+                throw new IOException(file + ": not a function cache");
+            int n = in.readInt();
+            for (int i = 0; i < n; ++i) {
+                String fingerprint = readString(in);
+                int labels = in.readInt();
+                List<String> strings = readStrings(in);
+                CodeBuffer code = new CodeBuffer();
+                for (String line: readStrings(in))
+                    code.append(line);
+                entries.put(fingerprint, new Entry(code, labels, strings));
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String s: strings)
+            writeString(out, s);
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        List<String> strings = new ArrayList<String>(n);
+        for (int i = 0; i < n; ++i)
+            strings.add(readString(in));
+        return strings;
+    }
+
+    // A string as its length and UTF-8 bytes; writeUTF cannot take string
+    // literals over 64 KB.
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(UTF8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        if (n < 0)
+            throw new IOException("bad string length " + n);
+        byte[] bytes = new byte[n];
+        in.readFully(bytes);
+        return new String(bytes, UTF8);
+    }
+}
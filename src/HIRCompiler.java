@@ -1,61 +1,310 @@
 import java.io.*;
+import java.util.*;
 import java_cup.runtime.*;
 
 public class HIRCompiler {
     public static void main(String[] args) throws IOException {
+        if (args.length >= 1 && args[0].equals("-batch")) {
+            System.exit(BatchCompiler.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length >= 1 && args[0].equals("-server")) {
+            System.exit(CompileServer.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+
+        // Options
+        CompileOptions options = new CompileOptions();
+        int first = 0;
+        while (first < args.length && options.parseFlag(args[first]))
+            first++;
+
         // SimpleC file
         String fileSimpleC = "";
-        if (args.length >= 1) {
-            fileSimpleC = args[0];
+        if (args.length >= first + 1) {
+            fileSimpleC = args[first];
         } else {
-            System.err.println("usage: HIRCompiler <SimpleC_file> <HIR_File>");
-            System.exit(-1);
+            usage();
         }
 
         // HIR file
         String fileHIR = "";
-        if (args.length >= 2) {
-            fileHIR = args[1];
+        if (args.length >= first + 2) {
+            fileHIR = args[first + 1];
         } else {
-            System.err.println("usage: HIRCompiler <SimpleC_file> <HIR_File>");
-            System.exit(-1);
+            usage();
         }
 
         // Open input file
-        FileReader reader = null;
+        Reader reader = null;
         try {
-            reader = new FileReader(fileSimpleC);
+            reader = source(new File(fileSimpleC), options);
         } catch (FileNotFoundException ex) {
             System.err.println("File " + fileSimpleC + " not found!");
             System.exit(-1);
         }
 
-        parser P = new parser(new Yylex(reader));
+        CompileContext ctx = new CompileContext(System.out, options);
 
         Program program = null;
         try {
-            program = (Program) P.parse().value;
+            program = parse(reader, ctx);
         } catch (Exception ex) {
             System.err.println("Exception occured during parse: " + ex);
             System.exit(-1);
         }
 
-        if (Errors.fatalError) {
+        if (program == null) {
+            // Syntax error, already reported
+            System.exit(-1);
+        }
+
+        if (ctx.errors.fatalError) {
             System.err.println("Confused by earlier errors: aborting");
             System.exit(0);
         }
 
         // Open output file
-        PrintWriter writer = new PrintWriter(fileHIR);
+        PrintWriter writer = new PrintWriter(output(new File(fileHIR), options));
 
         // Compile
-        program.compile(writer);
+        try {
+            generate(program, ctx, writer);
+        } catch (IOException ex) {
+            System.err.println("Exception occured during compile: " + ex);
+            System.exit(-1);
+        }
 
         // Close and save files
         reader.close();
         writer.flush();
         writer.close();
 
+        if (options.cache != null) {
+            try {
+                options.cache.save();
+            } catch (IOException ex) {
+                System.err.println("Cannot save the function cache: " + ex);
+            }
+        }
+
         System.out.println("Finished!");
+        if (ctx.stats != null)
+            System.out.println(ctx.stats);
+    }
+
+    // Embedding API: compile the SimpleC program read from source and write
+    // its HIR to hir. Problems in the program are returned as diagnostics in
+    // the result; nothing is printed and the process is never exited. Only
+    // I/O errors on source or hir are thrown. Nothing is kept between calls.
+    public static CompileResult compile(Reader source, Writer hir) throws IOException {
+        return compile(source, hir, new CompileOptions());
+    }
+
+    public static CompileResult compile(Reader source, Writer hir, CompileOptions options)
+            throws IOException {
+        CompileContext ctx = new CompileContext(null, options);
+        PrintWriter writer = new PrintWriter(hir);
+        boolean ok;
+        try {
+            ok = compile(source, writer, ctx);
+        } catch (IOException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            ctx.errors.fatal(0, 0, "internal compiler error: " + ex);
+            ok = false;
+        } catch (StackOverflowError ex) {
+            ctx.errors.fatal(0, 0, "internal compiler error: " + ex);
+            ok = false;
+        }
+        writer.flush();
+        if (writer.checkError())
+            throw new IOException("error writing HIR");
+        return new CompileResult(ok, ctx.errors.diagnostics(), ctx.stats);
+    }
+
+    // Parse and compile a SimpleC program. Diagnostics go to ctx; if there
+    // are errors nothing is written to hir and false is returned.
+    static boolean compile(Reader reader, PrintWriter hir, CompileContext ctx) throws Exception {
+        Program program = parse(reader, ctx);
+        if (program == null || ctx.errors.fatalError)
+            return false;
+        generate(program, ctx, hir);
+        return true;
+    }
+
+    // Generate the HIR of a parsed program
+    static void generate(Program program, CompileContext ctx, PrintWriter hir) throws IOException {
+        CompilePhaseEvent event = new CompilePhaseEvent();
+        event.begin();
+        CompileStats stats = ctx.stats;
+        long t = System.nanoTime();
+        long b = stats != null ? CompileStats.allocated() : 0;
+        long excludedNanos = stats != null ? stats.excludedNanos : 0;
+        long excludedBytes = stats != null ? stats.excludedBytes : 0;
+
+        // With -stream, the spill file must not outlive a failed compile
+        boolean done = false;
+        try {
+            program.compile(ctx, hir);
+            done = true;
+        } finally {
+            if (!done && ctx.stream != null)
+                ctx.stream.discard();
+        }
+
+        if (stats != null) {
+            stats.codegenNanos += System.nanoTime() - t - (stats.excludedNanos - excludedNanos);
+            stats.codegenBytes += CompileStats.allocated() - b - (stats.excludedBytes - excludedBytes);
+        }
+        event.phase = "codegen";
+        event.commit();
+    }
+
+    // The source file, mapped into memory or kept as bytes if the options
+    // say so
+    static Reader source(File file, CompileOptions options) throws IOException {
+        if (options.utf8)
+            return new Utf8Source(file);
+        if (options.mapped)
+            return new MappedSource(file);
+        return new FileReader(file);
+    }
+
+    // The HIR file, in UTF-8 if the source is read as such
+    static Writer output(File file, CompileOptions options) throws IOException {
+        if (options.utf8)
+            return new OutputStreamWriter(new FileOutputStream(file), Utf8Source.UTF8);
+        return new FileWriter(file);
+    }
+
+    // The lexer ctx's options ask for, reading from reader
+    static java_cup.runtime.Scanner lexer(Reader reader, CompileContext ctx) throws IOException {
+        if (reader instanceof Utf8Source)
+            return new ByteLexer((Utf8Source) reader, ctx);
+        if (ctx.options.fastLexer)
+            return new FastLexer(reader, ctx);
+        if (reader instanceof MappedSource)
+            return new Yylex((MappedSource) reader, ctx);
+        return new Yylex(reader, ctx);
+    }
+
+    // Parse a SimpleC program. Returns null if there were syntax errors,
+    // which have all been reported to ctx.
+    static Program parse(Reader reader, CompileContext ctx) throws Exception {
+        String key = null;
+        if (ctx.options.cache != null || ctx.options.astCache != null) {
+            String source = IncrementalCompiler.readAll(reader);
+            if (ctx.options.cache != null) {
+                Program program = IncrementalCompiler.parse(source, ctx);
+                if (program != null)
+                    return program;
+            }
+            if (ctx.options.astCache != null)
+                key = AstCache.key(source);
+            // a Utf8Source is scanned from its bytes, which are still there
+            if (!(reader instanceof Utf8Source))
+                reader = new StringReader(source);
+        }
+
+        if (ctx.options.streaming)
+            ctx.stream = new StreamingCompiler(ctx);
+
+        CompilePhaseEvent event = new CompilePhaseEvent();
+        event.begin();
+        CompileStats stats = ctx.stats;
+        long t = System.nanoTime();
+        long b = stats != null ? CompileStats.allocated() : 0;
+        long lexNanos = stats != null ? stats.lexNanos + stats.excludedNanos : 0;
+        long lexBytes = stats != null ? stats.lexBytes + stats.excludedBytes : 0;
+
+        Program program = null;
+        try {
+            if (key != null) {
+                if (stats != null)
+                    CompileStats.building.set(stats);
+                program = ctx.options.astCache.load(key, ctx);
+                if (program != null)
+                    return program;
+            }
+
+            // When scanning ahead, the lexer reports to a context of its own;
+            // the token stream passes its diagnostics on in parse order.
+            // With -stats the source is always lexed ahead, so that lexing
+            // is timed as one phase rather than token by token.
+            boolean ahead = ctx.options.prelex || ctx.options.descent || stats != null;
+            CompileContext lexCtx = ahead ? new CompileContext(ctx) : ctx;
+            java_cup.runtime.Scanner lexer = null;
+            TokenStream tokens = null;
+            if (ctx.options.prelex && ctx.options.fastLexer && ctx.options.parallel
+                    && !(reader instanceof Utf8Source)) {
+                long lt = System.nanoTime();
+                long lb = stats != null ? CompileStats.allocated() : 0;
+                tokens = ParallelLexer.scan(reader, lexCtx);
+                if (stats != null) {
+                    // the lexing threads' allocation is not seen here
+                    stats.lexNanos += System.nanoTime() - lt;
+                    stats.lexBytes += CompileStats.allocated() - lb;
+                    stats.tokens += tokens.size();
+                }
+            } else {
+                long lt = System.nanoTime();
+                long lb = stats != null ? CompileStats.allocated() : 0;
+                lexer = lexer(reader, lexCtx);
+                if (ahead)
+                    tokens = TokenStream.scan(lexer, lexCtx.errors);
+                if (stats != null) {
+                    stats.lexNanos += System.nanoTime() - lt;
+                    stats.lexBytes += CompileStats.allocated() - lb;
+                    stats.tokens += tokens.size();
+                }
+            }
+            if (stats != null)
+                CompileStats.building.set(stats);
+            if (ctx.options.descent && ctx.options.parallel) {
+                program = ParallelParser.parse(tokens, ctx);
+            } else if (ctx.options.descent) {
+                program = DescentParser.parse(tokens, ctx);
+            } else {
+                if (tokens != null)
+                    lexer = tokens.scanner(ctx.errors);
+                parser P = new parser(lexer, ctx);
+                Symbol result = P.parse();
+                if (result != null && result.value instanceof Program && P.syntaxErrors == 0)
+                    program = (Program) result.value;
+            }
+
+            // Only a tree without diagnostics is cached, since a tree
+            // taken from the cache comes without them. With -stream there
+            // is no tree.
+            if (key != null && program != null && ctx.stream == null
+                    && ctx.errors.diagnostics().isEmpty()) {
+                try {
+                    ctx.options.astCache.store(key, program);
+                } catch (IOException ex) {
+                    // the next compile parses again
+                }
+            }
+        } finally {
+            if (stats != null) {
+                CompileStats.building.remove();
+                // without the lexer and, with -stream, symbol entry
+                stats.parseNanos += System.nanoTime() - t - (stats.lexNanos + stats.excludedNanos - lexNanos);
+                stats.parseBytes += CompileStats.allocated() - b - (stats.lexBytes + stats.excludedBytes - lexBytes);
+            }
+            event.phase = "parse";
+            event.commit();
+
+            // Nothing will be written; drop what has been spilled so far
+            if (ctx.stream != null && (program == null || ctx.errors.fatalError))
+                ctx.stream.discard();
+        }
+        return program;
+    }
+
+    private static void usage() {
+        String flags = CompileOptions.usage();
+        System.err.println("usage: HIRCompiler " + flags + " <SimpleC_file> <HIR_File>");
+        System.err.println("       HIRCompiler -batch " + flags + " [-jobs N] <dir | glob | @list>...");
+        System.err.println("       HIRCompiler -server " + flags + " [-jobs N] [-warmup N] <socket | ->");
+        System.exit(-1);
     }
 }
\ No newline at end of file
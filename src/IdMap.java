@@ -0,0 +1,59 @@
+// The variables of one scope of a SymbolTable, keyed by the id of their
+// name (see Names). The ids are small ints, so the table is open addressed
+// on plain arrays: a lookup neither hashes a string nor boxes the id.
+class IdMap {
+    private int[] keys = new int[8];    // id + 1, or 0 for free
+    private String[] values = new String[8];
+    private int count;
+
+    // The value of id, or null
+    String get(int id) {
+        int mask = keys.length - 1;
+        for (int slot = hash(id) & mask; keys[slot] != 0; slot = (slot + 1) & mask)
+            if (keys[slot] == id + 1)
+                return values[slot];
+        return null;
+    }
+
+    void put(int id, String value) {
+        int mask = keys.length - 1;
+        int slot = hash(id) & mask;
+        while (keys[slot] != 0 && keys[slot] != id + 1)
+            slot = (slot + 1) & mask;
+        if (keys[slot] == 0) {
+            keys[slot] = id + 1;
+            count++;
+        }
+        values[slot] = value;
+        if (2 * count > keys.length)
+            rehash();
+    }
+
+    void putAll(IdMap other) {
+        for (int i = 0; i < other.keys.length; ++i)
+            if (other.keys[i] != 0)
+                put(other.keys[i] - 1, other.values[i]);
+    }
+
+    private static int hash(int id) {
+        int h = id * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        String[] oldValues = values;
+        keys = new int[2 * oldKeys.length];
+        values = new String[2 * oldKeys.length];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldKeys[i] == 0)
+                continue;
+            int slot = hash(oldKeys[i] - 1) & mask;
+            while (keys[slot] != 0)
+                slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+}
@@ -0,0 +1,265 @@
+import java.io.*;
+import java.nio.charset.Charset;
+import java.security.*;
+import java.util.*;
+import java_cup.runtime.*;
+
+// Incremental compilation with a FunctionCache (-cache).
+//
+// The source is cut into its top-level declarations by matching braces,
+// without running the lexer. Global variables and prototypes are parsed
+// and entered as usual. A function is fingerprinted from its text and the
+// global variables its identifiers refer to; these are all its code
+// depends on. If the cache knows the fingerprint, the stored HIR is used
+// and the function is not lexed, parsed or compiled at all. Otherwise it
+// is parsed and compiled on its own and the result is cached. The pieces
+// are put together like ParallelCodegen does, so the output is the same as
+// a full compile.
+//
+// Anything unusual (a diagnostic, a declaration that cannot be cut out)
+// makes parse return null; the caller then compiles the whole program the
+// classic way, which reports the problem as it always did.
+class IncrementalCompiler {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    // A top-level declaration: source[tokenStart, end), not counting the
+    // blanks and comments before it
+    static class Piece {
+        int tokenStart;
+        int end;
+        boolean function;
+    }
+
+    // Compile source piece by piece. Returns a compiled program, or null if
+    // the program has to be compiled as a whole.
+    static Program parse(String source, CompileContext ctx) {
+        List<Piece> pieces = split(source);
+        if (pieces == null)
+            return null;
+
+        FunctionCache cache = ctx.options.cache;
+        CompileContext work = new CompileContext(ctx);
+        SymbolTable table = new SymbolTable(work);
+
+        // In source order: enter the globals, look up the functions and
+        // parse the ones that are not cached
+        List<Object> parts = new ArrayList<Object>();
+        List<ParallelCodegen> misses = new ArrayList<ParallelCodegen>();
+        List<String> missKeys = new ArrayList<String>();
+        SymbolTable view = null;
+        for (Piece p: pieces) {
+            String text = source.substring(p.tokenStart, p.end);
+            if (!p.function) {
+                DeclList decls = parsePiece(text, work);
+                if (decls == null)
+                    return null;
+                for (Decl decl: decls.decls) {
+                    if (decl instanceof FnDecl)
+                        return null;
+                    decl.table = table;
+                    decl.compile(Tag.GLOBAL);
+                }
+                view = null;
+                continue;
+            }
+
+            String key = fingerprint(text, table);
+            FunctionCache.Entry entry = cache.get(key);
+            if (entry != null) {
+                parts.add(entry);
+                continue;
+            }
+            DeclList decls = parsePiece(text, work);
+            if (decls == null || decls.decls.length != 1 || !(decls.decls[0] instanceof FnDecl))
+                return null;
+            if (view == null)
+                view = table.snapshot();
+            ParallelCodegen unit = new ParallelCodegen((FnDecl) decls.decls[0], view, work);
+            parts.add(unit);
+            misses.add(unit);
+            missKeys.add(key);
+        }
+
+        try {
+            ParallelCodegen.compileAll(misses, ctx.options.parallel);
+        } catch (RuntimeException ex) {
+            // Let the full compile fail the way it always has
+            return null;
+        }
+        for (int i = 0; i < misses.size(); ++i) {
+            ParallelCodegen u = misses.get(i);
+            CodeBuffer code = new CodeBuffer();
+            code.append(u.fn.code);
+            List<String> strings = new ArrayList<String>();
+            for (StringSlice s: u.fn.table.strings())
+                strings.add(s.toString());
+            cache.put(missKeys.get(i), new FunctionCache.Entry(code, u.unit.labelIndex, strings));
+        }
+
+        // Put them together
+        CodeBuffer code = new CodeBuffer();
+        for (Object part: parts) {
+            if (part instanceof ParallelCodegen) {
+                ParallelCodegen u = (ParallelCodegen) part;
+                ParallelCodegen.splice(code, u.fn.code, u.unit.labelIndex, u.fn.table.strings(), table, work);
+            } else {
+                FunctionCache.Entry e = (FunctionCache.Entry) part;
+                CodeBuffer copy = new CodeBuffer();
+                copy.append(e.code);
+                List<StringSlice> strings = new ArrayList<StringSlice>();
+                for (String s: e.strings)
+                    strings.add(new StringSlice(s));
+                ParallelCodegen.splice(code, copy, e.labels, strings, table, work);
+            }
+        }
+        return new Program(table, code);
+    }
+
+    // Parse one piece. Returns null if it has any diagnostic.
+    private static DeclList parsePiece(String text, CompileContext ctx) {
+        CompileContext pieceCtx = new CompileContext(ctx);
+        Symbol result;
+        try {
+            parser P = new parser(HIRCompiler.lexer(new StringReader(text), pieceCtx), pieceCtx);
+            result = P.parse();
+        } catch (Exception ex) {
+            return null;
+        }
+        if (!pieceCtx.errors.diagnostics().isEmpty() || result == null || !(result.value instanceof Program))
+            return null;
+        return ((Program) result.value).declList();
+    }
+
+    // Cut source into top-level declarations: each one ends with a ';' or
+    // a '}' outside any braces. Returns null if that does not work out, e.g.
+    // for unbalanced braces or an unterminated string.
+    static List<Piece> split(String source) {
+        List<Piece> pieces = new ArrayList<Piece>();
+        int depth = 0;
+        int tokenStart = -1;
+        int n = source.length();
+        int i = 0;
+        while (i < n) {
+            char c = source.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+                i++;
+                continue;
+            }
+            if (c == '#' || (c == '/' && i + 1 < n && source.charAt(i + 1) == '/')) {
+                while (i < n && source.charAt(i) != '\n' && source.charAt(i) != '\r')
+                    i++;
+                continue;
+            }
+            if (tokenStart < 0)
+                tokenStart = i;
+            if (c == '"') {
+                i = skipString(source, i);
+                if (i < 0)
+                    return null;
+                continue;
+            }
+            i++;
+            if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                if (--depth < 0)
+                    return null;
+            }
+            if (depth == 0 && (c == ';' || c == '}')) {
+                Piece p = new Piece();
+                p.tokenStart = tokenStart;
+                p.end = i;
+                p.function = c == '}';
+                pieces.add(p);
+                tokenStart = -1;
+            }
+        }
+        if (tokenStart >= 0)
+            return null;
+        return pieces;
+    }
+
+    // Index after the string literal starting at i, or -1 if it does not
+    // end on its line
+    private static int skipString(String source, int i) {
+        int n = source.length();
+        for (i++; i < n; i++) {
+            char c = source.charAt(i);
+            if (c == '"')
+                return i + 1;
+            if (c == '\n')
+                return -1;
+            if (c == '\\')
+                i++;
+        }
+        return -1;
+    }
+
+    // The text of a function and what each identifier in it means as a
+    // global variable. Identifiers that turn out to be locals only make the
+    // fingerprint stricter than needed.
+    static String fingerprint(String text, SymbolTable globals) {
+        StringBuilder b = new StringBuilder(text);
+        Set<String> seen = new HashSet<String>();
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                i = skipString(text, i);
+                if (i < 0)
+                    break;
+            } else if (c == '#' || (c == '/' && i + 1 < n && text.charAt(i + 1) == '/')) {
+                while (i < n && text.charAt(i) != '\n' && text.charAt(i) != '\r')
+                    i++;
+            } else if (c >= '0' && c <= '9') {
+                while (i < n && text.charAt(i) >= '0' && text.charAt(i) <= '9')
+                    i++;
+            } else if (isIdStart(c)) {
+                int from = i;
+                while (i < n && (isIdStart(text.charAt(i)) || (text.charAt(i) >= '0' && text.charAt(i) <= '9')))
+                    i++;
+                String id = text.substring(from, i);
+                String global = globals.declared(id);
+                if (global != null && seen.add(id))
+                    b.append('\0').append(global);
+            } else {
+                i++;
+            }
+        }
+        return digest(b.toString());
+    }
+
+    private static boolean isIdStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    static String digest(String s) {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new RuntimeException(ex);
+        }
+        byte[] hash = md.digest(s.getBytes(UTF8));
+        char[] hex = new char[2 * hash.length];
+        for (int i = 0; i < hash.length; ++i) {
+            hex[2 * i] = Character.forDigit((hash[i] >> 4) & 0xf, 16);
+            hex[2 * i + 1] = Character.forDigit(hash[i] & 0xf, 16);
+        }
+        return new String(hex);
+    }
+
+    static String readAll(Reader reader) throws IOException {
+        if (reader instanceof MappedSource) {
+            MappedSource source = (MappedSource) reader;
+            return new String(source.text, 0, source.length);
+        }
+        StringBuilder b = new StringBuilder();
+        char[] buffer = new char[8192];
+        int n;
+        while ((n = reader.read(buffer)) != -1)
+            b.append(buffer, 0, n);
+        return b.toString();
+    }
+}
@@ -0,0 +1,387 @@
+import java_cup.runtime.*;
+
+// The token rules shared by FastLexer, which scans chars, and ByteLexer,
+// which scans UTF-8 bytes. All tokens are ASCII, so the rules only need
+// the code of each unit of the input (see get); the few places where the
+// two inputs differ are the abstract methods below. The accessors are
+// small, so the JIT inlines them into the loops here.
+//
+// Beyond ASCII both lexers are more forgiving than Yylex, which fails on
+// such characters anywhere: here they may appear in comments and in
+// string literals, and anywhere else are reported as illegal ones.
+abstract class LexerCore implements java_cup.runtime.Scanner {
+    // what Yylex sees at the end of input; the character itself ends it too
+    static final int EOF = '\uFFFF';
+
+    static final boolean[] IDENT = new boolean[128];
+    static {
+        for (char c = 'a'; c <= 'z'; ++c)
+            IDENT[c] = IDENT[c - 'a' + 'A'] = true;
+        for (char c = '0'; c <= '9'; ++c)
+            IDENT[c] = true;
+        IDENT['_'] = true;
+    }
+
+    // Keywords by (second character + length) & 15, which no two share
+    static final String[] KEYWORDS = new String[16];
+    static final int[] KEYWORD_SYMS = new int[16];
+    static {
+        keyword("int", sym.INT);
+        keyword("void", sym.VOID);
+        keyword("if", sym.IF);
+        keyword("else", sym.ELSE);
+        keyword("while", sym.WHILE);
+        keyword("for", sym.FOR);
+        keyword("return", sym.RETURN);
+    }
+
+    private static void keyword(String s, int kind) {
+        int h = (s.charAt(1) + s.length()) & 15;
+        if (KEYWORDS[h] != null)
+            throw new AssertionError("keyword hash collision: " + s);
+        KEYWORDS[h] = s;
+        KEYWORD_SYMS[h] = kind;
+    }
+
+    protected final int length;
+    private final int limit;        // where the last token may start
+    private int pos;
+    private int line = 1;
+
+    private final CharNum charNum;
+    private final Errors errors;
+    protected final Names names;
+
+    // Scan the tokens that start in [from, limit) of an input of length
+    // units, as if it began at from, on line 1 and in column 1
+    LexerCore(int from, int limit, int length, CompileContext ctx) {
+        this.length = length;
+        this.limit = limit;
+        pos = from;
+        charNum = ctx.charNum;
+        errors = ctx.errors;
+        names = ctx.names;
+    }
+
+    // The unit at i < length: a char, or a byte as 0 to 255
+    abstract int get(int i);
+
+    // The first unit in [i, i + n) that is not a space, as an offset from
+    // i, or -1 if they all are
+    abstract int spaces(int i, int n);
+
+    // The id of the name in [start, start + n)
+    abstract int intern(int start, int n);
+
+    // The number of units of the character at start
+    abstract int character(int start);
+
+    // The text of [start, start + n)
+    abstract String text(int start, int n);
+
+    // The literal in [start, start + n); ascii if no unit is beyond ASCII
+    abstract StringSlice literal(int start, int n, boolean ascii);
+
+    public Symbol next_token() {
+        while (true) {
+            int start = pos;
+            if (start >= limit)
+                return new Symbol(sym.EOF);
+            int c = get(start);
+            int end = start + 1;
+            switch (c) {
+            case ' ':
+            case '\t':
+                end = blanks(end);
+                charNum.num += end - start;
+                pos = end;
+                continue;
+            case '\n':
+                line++;
+                charNum.num = 1;
+                pos = end;
+                continue;
+            case '\r':
+                charNum.num = 1;
+                pos = end;
+                continue;
+            case '#':
+                comment(start, end);
+                continue;
+            case '/':
+                if (at(end) == '/') {
+                    comment(start, end + 1);
+                    continue;
+                }
+                return operator(start, sym.DIVIDE, '=', sym.DIVEQL);
+            case '"': {
+                Symbol s = string(start);
+                if (s != null)
+                    return s;
+                continue;
+            }
+            case '+':
+                return operator(start, sym.PLUS, '=', sym.PLUSEQL);
+            case '-':
+                return operator(start, sym.MINUS, '=', sym.MINUSEQL);
+            case '*':
+                return operator(start, sym.TIMES, '=', sym.TIMESEQL);
+            case '!':
+                return operator(start, sym.NOT, '=', sym.NOTEQUALS);
+            case '=':
+                return operator(start, sym.ASSIGN, '=', sym.EQUALS);
+            case '<':
+                return operator(start, sym.LESS, '=', sym.LESSEQ);
+            case '>':
+                return operator(start, sym.GREATER, '=', sym.GREATEREQ);
+            case '&':
+                return operator(start, sym.ADDROF, '&', sym.AND);
+            case '|':
+                if (at(end) == '|')
+                    return token(sym.OR, start, 2);
+                illegal(start);
+                continue;
+            case '%':
+                return token(sym.PERCENT, start, 1);
+            case '{':
+                return token(sym.LCURLY, start, 1);
+            case '}':
+                return token(sym.RCURLY, start, 1);
+            case '(':
+                return token(sym.LPAREN, start, 1);
+            case ')':
+                return token(sym.RPAREN, start, 1);
+            case '[':
+                return token(sym.LSQBRACKET, start, 1);
+            case ']':
+                return token(sym.RSQBRACKET, start, 1);
+            case ',':
+                return token(sym.COMMA, start, 1);
+            case ';':
+                return token(sym.SEMICOLON, start, 1);
+            case EOF:
+                // Yylex takes the character for the end of input, but
+                // goes on after it when asked for another token
+                pos = end;
+                return new Symbol(sym.EOF);
+            default:
+                if (c >= 128) {
+                    illegal(start);
+                    continue;
+                }
+                if (c >= '0' && c <= '9')
+                    return number(start);
+                if (IDENT[c])
+                    return identifier(start);
+                illegal(start);
+                continue;
+            }
+        }
+    }
+
+    // Where the next token would start
+    int position() {
+        return pos;
+    }
+
+    // The number of newlines scanned so far
+    int lines() {
+        return line - 1;
+    }
+
+    private int at(int i) {
+        return i < length ? get(i) : EOF;
+    }
+
+    private Symbol token(int kind, int start, int length) {
+        Symbol s = new Symbol(kind, new TokenVal(line, charNum.num));
+        charNum.num += length;
+        pos = start + length;
+        return s;
+    }
+
+    // The one character operator at start, or the two character one if
+    // second follows it
+    private Symbol operator(int start, int kind, char second, int kind2) {
+        if (at(start + 1) == second)
+            return token(kind2, start, 2);
+        return token(kind, start, 1);
+    }
+
+    // The character at start, which starts no token
+    private void illegal(int start) {
+        int n = character(start);
+        String c = text(start, n);
+        errors.fatal(line, charNum.num, "ignoring illegal character: " + c);
+        charNum.num += c.length();
+        pos = start + n;
+    }
+
+    // A comment from start to the end of the line; its text starts at i
+    private void comment(int start, int i) {
+        i = lineEnd(i);
+        charNum.num += i - start;
+        pos = i;
+    }
+
+    private Symbol number(int start) {
+        long val = 0;
+        int end = start;
+        for (; end < length; ++end) {
+            int c = get(end);
+            if (c < '0' || c > '9')
+                break;
+            if (val <= Integer.MAX_VALUE)
+                val = 10 * val + (c - '0');
+        }
+        if (val > Integer.MAX_VALUE) {
+            errors.warn(line, charNum.num, "integer literal too large; using max value");
+            val = Integer.MAX_VALUE;
+        }
+        Symbol s = new Symbol(sym.INTLITERAL, new IntLitTokenVal(line, charNum.num, (int) val));
+        charNum.num += end - start;
+        pos = end;
+        return s;
+    }
+
+    private Symbol identifier(int start) {
+        int end = start + 1;
+        while (end < length) {
+            int c = get(end);
+            if (c >= 128 || !IDENT[c])
+                break;
+            end++;
+        }
+        int n = end - start;
+        if (n >= 2 && n <= 6) {
+            int h = (get(start + 1) + n) & 15;
+            String k = KEYWORDS[h];
+            if (k != null && k.length() == n && matches(k, start))
+                return token(KEYWORD_SYMS[h], start, n);
+        }
+        int id = intern(start, n);
+        Symbol s = new Symbol(sym.ID, new IdTokenVal(line, charNum.num, names.name(id), id));
+        charNum.num += n;
+        pos = end;
+        return s;
+    }
+
+    private boolean matches(String k, int start) {
+        for (int i = 0; i < k.length(); ++i)
+            if (get(start + i) != k.charAt(i))
+                return false;
+        return true;
+    }
+
+    // The string literal whose opening quote is at start, or null if it
+    // was reported and skipped. The escapes are checked on the way, as
+    // StringLitTokenVal.checkEscapedChars does for Yylex.
+    private Symbol string(int start) {
+        boolean bad = false;
+        boolean ascii = true;
+        int i = start + 1;
+        while (true) {
+            int c = at(i);
+            if (c == '"')
+                break;
+            if (c == '\n') {
+                unterminated(i, bad);
+                return null;
+            }
+            if (c == EOF) {
+                // no literal at all
+                illegal(start);
+                return null;
+            }
+            if (c != '\\') {
+                if (c >= 128)
+                    ascii = false;
+                i++;
+                continue;
+            }
+            int d = at(i + 1);
+            if (d == '\n') {
+                // a backslash as the last character escapes nothing
+                unterminated(i + 1, true);
+                return null;
+            }
+            if (d == EOF) {
+                illegal(start);
+                return null;
+            }
+            if (d != 'n' && d != 't' && d != '"' && d != '\\' && d != '\'')
+                bad = true;
+            if (d >= 128)
+                ascii = false;
+            i += 2;
+        }
+
+        int end = i + 1;
+        pos = end;
+        StringSlice literal = literal(start, end - start, ascii);
+        int n = literal.length();
+        if (bad) {
+            errors.fatal(line, charNum.num, "ignoring string literal with bad escaped character");
+            charNum.num += n;
+            return null;
+        }
+        Symbol s = new Symbol(sym.STRINGLITERAL, new StringLitTokenVal(line, charNum.num, literal));
+        charNum.num += n;
+        return s;
+    }
+
+    // A literal up to the newline at nl, which goes with it
+    private void unterminated(int nl, boolean bad) {
+        if (bad)
+            errors.fatal(line, charNum.num, "ignoring unterminated string literal with bad escaped character");
+        else
+            errors.fatal(line, charNum.num, "ignoring unterminated string literal");
+        line++;
+        pos = nl + 1;
+    }
+
+    // Skipping runs. Generated programs can have long indentation, comment
+    // banners and string literals. A long run of blanks is compared with a
+    // row of spaces a block at a time (see spaces); that only pays once the
+    // run is longer than about a dozen characters, so the first ones are
+    // looked at one by one. For comments and literals the plain loops
+    // measured faster than testing blocks of characters at a time, whether
+    // branch-free or packed four to a long, at the line lengths we see (see
+    // Bench, -comments, -strlen).
+
+    static final int SHORT_RUN = 16;
+    static final int BLOCK = 64;
+
+    // The end of the run of spaces and tabs at i
+    private int blanks(int i) {
+        for (int limit = Math.min(i + SHORT_RUN, length); i < limit; ++i) {
+            int c = get(i);
+            if (c != ' ' && c != '\t')
+                return i;
+        }
+        while (i < length) {
+            int n = Math.min(BLOCK, length - i);
+            int k = spaces(i, n);
+            if (k < 0) {
+                i += n;
+                continue;
+            }
+            i += k;
+            if (get(i) != '\t')
+                return i;
+            while (i < length && get(i) == '\t')
+                i++;
+        }
+        return i;
+    }
+
+    // The first newline or end of input character at or after i, or length
+    private int lineEnd(int i) {
+        for (; i < length; ++i) {
+            int c = get(i);
+            if (c == '\n' || c == EOF)
+                break;
+        }
+        return i;
+    }
+}
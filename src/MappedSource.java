@@ -0,0 +1,87 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+
+// A source file read in one go through a memory mapping (-mmap). The
+// file's bytes are turned into chars directly, without a Reader; only if
+// the file is not plain ASCII is the rest decoded like FileReader does.
+// The lexer then takes the whole text as its buffer (see
+// Yylex(MappedSource, CompileContext)), so it never refills it. At the end
+// of input it does shift the last token to the front, so the text is only
+// the source until it has been scanned.
+//
+// This only changes how the lexer's buffer is filled. The lexer scans
+// the decoded chars, never the mapped bytes; scanning bytes without
+// decoding them is what -utf8 does (see ByteLexer).
+//
+// It is a Reader as well, so it can go wherever a source is expected.
+class MappedSource extends Reader {
+    char[] text;
+    int length;
+    private int next;
+
+    MappedSource(File file) throws IOException {
+        FileChannel channel = new FileInputStream(file).getChannel();
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IOException(file + " is too large");
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            decode(bytes);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void decode(ByteBuffer bytes) throws IOException {
+        int n = bytes.remaining();
+        text = new char[n];
+        byte[] chunk = new byte[8192];
+        int i = 0;
+        while (bytes.hasRemaining()) {
+            int m = Math.min(chunk.length, bytes.remaining());
+            int at = bytes.position();
+            bytes.get(chunk, 0, m);
+            for (int j = 0; j < m; ++j) {
+                byte b = chunk[j];
+                if (b < 0) {
+                    // Not ASCII: decode the rest properly
+                    bytes.position(at + j);
+                    length = i;
+                    decodeRest(bytes);
+                    return;
+                }
+                text[i++] = (char) b;
+            }
+        }
+        length = i;
+    }
+
+    private void decodeRest(ByteBuffer bytes) throws IOException {
+        CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer rest = decoder.decode(bytes);
+        int n = rest.remaining();
+        if (length + n > text.length) {
+            char[] bigger = new char[length + n];
+            System.arraycopy(text, 0, bigger, 0, length);
+            text = bigger;
+        }
+        rest.get(text, length, n);
+        length += n;
+    }
+
+    public int read(char[] b, int off, int len) {
+        if (next >= length)
+            return -1;
+        int n = Math.min(len, length - next);
+        System.arraycopy(text, next, b, off, n);
+        next += n;
+        return n;
+    }
+
+    public void close() {
+    }
+}
@@ -0,0 +1,105 @@
+// The identifiers of one compilation. The lexer interns every identifier
+// here straight from its buffer, so each name is one String object with a
+// small integer id, and a name seen before costs no allocation at all.
+// Later phases can compare ids instead of strings.
+class Names {
+    // ids of the built-in functions, entered first
+    static final int PRINTF = 0;
+    static final int SCANF = 1;
+
+    private String[] names = new String[64];
+    private int[] slots = new int[128];    // id + 1, or 0 for free
+    private int count;
+
+    Names() {
+        intern("printf");
+        intern("scanf");
+    }
+
+    int intern(String s) {
+        char[] chars = s.toCharArray();
+        return intern(chars, 0, chars.length);
+    }
+
+    // The id of the name in buffer[start, start + length)
+    int intern(char[] buffer, int start, int length) {
+        return intern(buffer, null, start, length);
+    }
+
+    // The same for a name in ASCII bytes (see ByteLexer)
+    int intern(byte[] buffer, int start, int length) {
+        return intern(null, buffer, start, length);
+    }
+
+    // The id of the name at start in chars or, if that is null, in bytes
+    private int intern(char[] chars, byte[] bytes, int start, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; ++i)
+            hash = 31 * hash + at(chars, bytes, start + i);
+
+        int mask = slots.length - 1;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (slots[slot] != 0) {
+            String name = names[slots[slot] - 1];
+            if (name.hashCode() == hash && matches(name, chars, bytes, start, length))
+                return slots[slot] - 1;
+            slot = (slot + 1) & mask;
+        }
+
+        int id = count++;
+        if (id == names.length) {
+            String[] more = new String[2 * names.length];
+            System.arraycopy(names, 0, more, 0, id);
+            names = more;
+        }
+        names[id] = chars != null ? new String(chars, start, length)
+            : new String(bytes, start, length, java.nio.charset.StandardCharsets.ISO_8859_1);
+        slots[slot] = id + 1;
+        if (2 * count > slots.length)
+            rehash();
+        return id;
+    }
+
+    private static char at(char[] chars, byte[] bytes, int i) {
+        return chars != null ? chars[i] : (char) (bytes[i] & 0xff);
+    }
+
+    // The id of name if it has been interned, or -1
+    int find(String name) {
+        int hash = name.hashCode();
+        int mask = slots.length - 1;
+        for (int slot = (hash ^ (hash >>> 16)) & mask; slots[slot] != 0; slot = (slot + 1) & mask)
+            if (names[slots[slot] - 1].equals(name))
+                return slots[slot] - 1;
+        return -1;
+    }
+
+    String name(int id) {
+        return names[id];
+    }
+
+    int size() {
+        return count;
+    }
+
+    private static boolean matches(String name, char[] chars, byte[] bytes, int start, int length) {
+        if (name.length() != length)
+            return false;
+        for (int i = 0; i < length; ++i)
+            if (name.charAt(i) != at(chars, bytes, start + i))
+                return false;
+        return true;
+    }
+
+    private void rehash() {
+        slots = new int[2 * slots.length];
+        int mask = slots.length - 1;
+        for (int id = 0; id < count; ++id) {
+            int hash = names[id].hashCode();
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (slots[slot] != 0)
+                slot = (slot + 1) & mask;
+            slots[slot] = id + 1;
+        }
+    }
+}
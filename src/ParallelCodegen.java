@@ -0,0 +1,106 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+// Parallel code generation for the functions of one program (-parallel).
+//
+// While they are compiled, functions only share the global scope, the
+// string pool and the label counter. So the global variables are entered
+// first, in source order, and each function gets the global scope as it
+// was at its place in the file. Then every function is compiled on its own
+// on the fork/join pool, numbering its labels and strings from 0. Last, in
+// source order, each function's strings are entered into the program's
+// pool and its labels and string ids are shifted into place. The result is
+// exactly what the sequential compiler produces.
+class ParallelCodegen {
+    FnDecl fn;
+    CompileContext unit;
+    private SymbolTable globals;
+
+    ParallelCodegen(FnDecl fn, SymbolTable globals, CompileContext parent) {
+        this.fn = fn;
+        this.globals = globals;
+        unit = new CompileContext(parent);
+    }
+
+    // Compile declList (the top-level declarations) in place of
+    // declList.compile(Tag.GLOBAL).
+    static void compile(DeclList declList, CompileContext ctx) {
+        SymbolTable table = declList.table;
+
+        // Enter the globals and give each function its view of them. A new
+        // copy of the scope is only needed when globals were declared since
+        // the previous function.
+        List<ParallelCodegen> units = new ArrayList<ParallelCodegen>();
+        SymbolTable view = null;
+        for (Decl decl: declList.decls) {
+            if (decl instanceof FnDecl) {
+                if (view == null)
+                    view = table.snapshot();
+                units.add(new ParallelCodegen((FnDecl) decl, view, ctx));
+            } else {
+                decl.table = table;
+                decl.compile(Tag.GLOBAL);
+                view = null;
+            }
+        }
+
+        long wait = System.nanoTime();
+        compileAll(units, true);
+        if (ctx.stats != null)
+            ctx.stats.excludedNanos += System.nanoTime() - wait;
+
+        // Put them together
+        declList.code = new CodeBuffer();
+        for (ParallelCodegen u: units) {
+            splice(declList.code, u.fn.code, u.unit.labelIndex, u.fn.table.strings(), table, ctx);
+            ctx.errors.merge(u.unit.errors);
+            if (ctx.stats != null)
+                ctx.stats.add(u.unit.stats);
+        }
+    }
+
+    // Compile the functions of units, on the fork/join pool if parallel
+    static void compileAll(List<ParallelCodegen> units, boolean parallel) {
+        List<RecursiveAction> tasks = new ArrayList<RecursiveAction>();
+        for (final ParallelCodegen u: units) {
+            tasks.add(new RecursiveAction() {
+                protected void compute() {
+                    CompileStats stats = u.unit.stats;
+                    long t = System.nanoTime();
+                    long b = stats != null ? CompileStats.allocated() : 0;
+                    u.fn.table = new SymbolTable(u.globals, u.unit);
+                    u.fn.compile(Tag.GLOBAL);
+                    if (stats != null) {
+                        stats.codegenNanos += System.nanoTime() - t - stats.excludedNanos;
+                        stats.codegenBytes += CompileStats.allocated() - b - stats.excludedBytes;
+                    }
+                }
+            });
+        }
+        if (!parallel) {
+            for (RecursiveAction task: tasks)
+                task.invoke();
+            return;
+        }
+        final List<RecursiveAction> all = tasks;
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            protected void compute() {
+                invokeAll(all);
+            }
+        });
+    }
+
+    // Append the code of a function that was compiled on its own, using
+    // labels ~0..~(labels-1) and the given strings, to into; table is the
+    // program's root scope and ctx its context.
+    static void splice(CodeBuffer into, CodeBuffer fnCode, int labels, List<StringSlice> strings,
+            SymbolTable table, CompileContext ctx) {
+        int[] numbers = new int[strings.size()];
+        for (int i = 0; i < numbers.length; ++i)
+            numbers[i] = table.stringNumber(strings.get(i));
+
+        fnCode.relocate(ctx.labelIndex, numbers);
+        ctx.labelIndex += labels;
+        into.append(fnCode);
+    }
+}
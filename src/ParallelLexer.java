@@ -0,0 +1,98 @@
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Lexing of a large source on several threads (-prelex -fastlex -parallel).
+//
+// No SimpleC token spans a newline, so a source can be cut into chunks at
+// line ends and each chunk lexed by a FastLexer of its own on the fork/join
+// pool, into a TokenStream of its own. The chunks are then appended in
+// order, with their lines shifted by the newlines before them and their
+// identifiers interned again, so the stream is the one a single lexer
+// makes. The only state a line passes on to the next is the column after
+// an unterminated string literal, which takes the newline along without
+// resetting it; so chunks are only cut after a line without a quote.
+class ParallelLexer {
+    // smallest chunk worth a task of its own, in chars
+    private static final int CHUNK = 1 << 20;
+
+    // The tokens of all of reader's text, with ctx's names
+    static TokenStream scan(Reader reader, CompileContext ctx) throws IOException {
+        FastLexer.Text text = new FastLexer.Text(reader);
+        return scan(text.chars, text.length, ctx);
+    }
+
+    static TokenStream scan(char[] text, int length, CompileContext ctx) {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        return scan(text, length, ctx, cpus == 1 ? 1 : Math.min(length / CHUNK, 4 * cpus));
+    }
+
+    // The same, in about n chunks
+    static TokenStream scan(final char[] text, final int length, final CompileContext ctx, int n) {
+        if (n <= 1)
+            return TokenStream.scan(new FastLexer(text, length, ctx), ctx.errors);
+
+        List<Integer> bounds = new ArrayList<Integer>();
+        bounds.add(0);
+        for (int i = 1; i < n; ++i) {
+            int b = cut(text, length, Math.max((int) ((long) length * i / n), bounds.get(bounds.size() - 1)));
+            if (b < length && b > bounds.get(bounds.size() - 1))
+                bounds.add(b);
+        }
+        bounds.add(length);
+
+        final int chunks = bounds.size() - 1;
+        final TokenStream[] streams = new TokenStream[chunks];
+        final FastLexer[] lexers = new FastLexer[chunks];
+        List<RecursiveAction> tasks = new ArrayList<RecursiveAction>();
+        for (int i = 0; i < chunks; ++i) {
+            final int k = i;
+            final int from = bounds.get(i), to = bounds.get(i + 1);
+            tasks.add(new RecursiveAction() {
+                protected void compute() {
+                    CompileContext unit = new CompileContext(ctx, new Names());
+                    lexers[k] = new FastLexer(text, from, to, length, unit);
+                    streams[k] = TokenStream.scan(lexers[k], unit.errors);
+                }
+            });
+        }
+        final List<RecursiveAction> all = tasks;
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            protected void compute() {
+                invokeAll(all);
+            }
+        });
+
+        // Put them together, up to where the input ended for the lexer
+        TokenStream tokens = new TokenStream();
+        int lines = 0;
+        for (int i = 0; i < chunks; ++i) {
+            tokens.append(streams[i], lines, ctx.names);
+            if (streams[i].failed() || lexers[i].position() < bounds.get(i + 1))
+                break;
+            lines += lexers[i].lines();
+        }
+        tokens.end();
+        return tokens;
+    }
+
+    // The end of the first line without a quote that ends at or after at, or
+    // length
+    private static int cut(char[] text, int length, int at) {
+        int i = at;
+        while (i > 0 && text[i - 1] != '\n')
+            i--;
+        boolean quote = false;
+        for (; i < length; ++i) {
+            char c = text[i];
+            if (c == '"') {
+                quote = true;
+            } else if (c == '\n') {
+                if (!quote)
+                    return i + 1;
+                quote = false;
+            }
+        }
+        return length;
+    }
+}
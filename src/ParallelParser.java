@@ -0,0 +1,115 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+// Parsing of a large token stream on several threads (-descent -parallel).
+//
+// A top-level declaration is either a varDecl or fnPreDecl, which ends at
+// a ';' outside braces, or a fnDecl, which ends at the '}' that balances
+// its body. So a pass over the token kinds that only counts braces finds
+// where declarations end, and the stream is cut there into chunks of
+// whole declarations. Each chunk is parsed by a DescentParser of its own
+// on the fork/join pool, and the declarations are put together in source
+// order. The tokens carry their own positions, so the tree is the one the
+// sequential parser builds.
+//
+// If any chunk does not parse as whole declarations, the cut was wrong or
+// the program has a syntax error; then it is parsed again sequentially,
+// which reports everything as without -parallel. Otherwise the lexer's
+// diagnostics are all reported at the end, as the sequential parser would
+// have by then.
+class ParallelParser {
+    // smallest chunk worth a task of its own, in tokens
+    private static final int CHUNK = 1 << 16;
+
+    static Program parse(TokenStream tokens, CompileContext ctx) throws Exception {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        return parse(tokens, ctx, cpus == 1 ? 1 : Math.min(tokens.size() / CHUNK, 4 * cpus));
+    }
+
+    // The same, in about the given number of chunks
+    static Program parse(final TokenStream tokens, final CompileContext ctx, int chunks) throws Exception {
+        int n = tokens.size() - 1;
+        // with -stream the declarations are compiled as they are parsed
+        if (chunks <= 1 || tokens.failed() || tokens.kind(n) != sym.EOF || ctx.stream != null)
+            return DescentParser.parse(tokens, ctx);
+
+        List<Integer> bounds = cut(tokens, n, chunks);
+        final int m = bounds.size() - 1;
+        @SuppressWarnings("unchecked")
+        final List<Decl>[] parts = new List[m];
+        final CompileStats[] stats = new CompileStats[m];
+        List<RecursiveAction> tasks = new ArrayList<RecursiveAction>();
+        for (int i = 0; i < m; ++i) {
+            final int k = i;
+            final int from = bounds.get(i), to = bounds.get(i + 1);
+            tasks.add(new RecursiveAction() {
+                protected void compute() {
+                    if (ctx.stats == null) {
+                        parts[k] = DescentParser.decls(tokens, ctx, from, to);
+                        return;
+                    }
+                    // the task may run on the thread that waits for it
+                    CompileStats outer = CompileStats.building.get();
+                    stats[k] = new CompileStats();
+                    CompileStats.building.set(stats[k]);
+                    try {
+                        parts[k] = DescentParser.decls(tokens, ctx, from, to);
+                    } finally {
+                        CompileStats.building.set(outer);
+                    }
+                }
+            });
+        }
+        final List<RecursiveAction> all = tasks;
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            protected void compute() {
+                invokeAll(all);
+            }
+        });
+
+        int total = 0;
+        for (List<Decl> part: parts) {
+            if (part == null)
+                return DescentParser.parse(tokens, ctx);
+            total += part.size();
+        }
+
+        // Put them together
+        List<Decl> decls = new ArrayList<Decl>(total);
+        for (int i = 0; i < m; ++i) {
+            decls.addAll(parts[i]);
+            if (ctx.stats != null)
+                ctx.stats.add(stats[i]);
+        }
+        tokens.report(n, 0, ctx.errors);
+        return new Program(new DeclList(decls));
+    }
+
+    // Where to cut tokens[0, n) into about the given number of chunks: at
+    // the end of the first top-level declaration from each n / chunks on
+    private static List<Integer> cut(TokenStream tokens, int n, int chunks) {
+        List<Integer> bounds = new ArrayList<Integer>();
+        bounds.add(0);
+        long target = n / chunks;
+        int depth = 0;
+        for (int i = 0; i < n && bounds.size() < chunks; ++i) {
+            int kind = tokens.kind(i);
+            boolean end;
+            if (kind == sym.LCURLY) {
+                depth++;
+                continue;
+            } else if (kind == sym.RCURLY) {
+                end = --depth == 0;
+            } else {
+                end = kind == sym.SEMICOLON && depth == 0;
+            }
+            if (end && i + 1 >= target) {
+                bounds.add(i + 1);
+                target = (long) n * bounds.size() / chunks;
+            }
+        }
+        if (bounds.get(bounds.size() - 1) < n)
+            bounds.add(n);
+        return bounds;
+    }
+}
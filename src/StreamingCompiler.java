@@ -0,0 +1,73 @@
+import java.io.*;
+
+// Streaming code generation. Every top-level declaration is compiled as
+// soon as the parser has built it, and the HIR of a function is written out
+// right away. Nothing keeps the function's AST or code after that, so it
+// can be collected before the next function is parsed.
+//
+// An HIR file has to start with the str table and the "entry main, N"
+// line, and neither is known before the end of the program. The function
+// code is therefore spilled to a temporary file and copied behind the
+// header when the program is finished.
+class StreamingCompiler {
+    private CompileContext ctx;
+    private SymbolTable table;
+    private File spillFile;
+    private PrintWriter spill;
+
+    StreamingCompiler(CompileContext ctx) throws IOException {
+        this.ctx = ctx;
+        table = new SymbolTable(ctx);
+        spillFile = File.createTempFile("simplec", ".hir");
+        spill = new PrintWriter(new BufferedWriter(new FileWriter(spillFile)));
+    }
+
+    // Called by the parser with each top-level declaration, in order
+    void add(Decl decl) {
+        decl.table = table;
+        decl.compile(Tag.GLOBAL);
+        if (decl.code != null) {
+            if (ctx.stats != null)
+                ctx.stats.countInstructions(decl.code);
+            decl.code.output(spill);
+        }
+    }
+
+    // Write the complete program: header first, then the spilled functions
+    void finish(PrintWriter out) throws IOException {
+        CodeBuffer code = new CodeBuffer();
+        code.append(table.getStringListCode());
+        code.appendLn();
+        code.append("entry main, %d", table.countGlobal());
+        if (ctx.stats != null) {
+            ctx.stats.countInstructions(code);
+            ctx.stats.labels = ctx.labelIndex;
+            ctx.stats.strings = table.strings().size();
+        }
+        code.output(out);
+
+        try {
+            spill.close();
+            if (spill.checkError())
+                throw new IOException("error writing " + spillFile);
+            Reader in = new BufferedReader(new FileReader(spillFile));
+            try {
+                char[] buffer = new char[8192];
+                int n;
+                while ((n = in.read(buffer)) != -1)
+                    out.write(buffer, 0, n);
+            } finally {
+                in.close();
+            }
+        } finally {
+            spillFile.delete();
+        }
+    }
+
+    // Drop everything, e.g. after a syntax error or a failed compile. May
+    // be called more than once.
+    void discard() {
+        spill.close();
+        spillFile.delete();
+    }
+}
@@ -0,0 +1,76 @@
+// The text of a string literal, quotes and escapes included, as a slice of
+// the char array it was scanned from. When FastLexer scans a source in
+// place (-mmap -fastlex) that is the source text itself, so a literal is
+// never copied until its str line is written out; Yylex shifts its buffer
+// and copies its literals. ByteLexer (-utf8) slices its ASCII literals out
+// of the source bytes the same way. Slices are equal if their text is.
+class StringSlice implements CharSequence {
+    private final char[] chars;
+    private final byte[] bytes;     // ASCII only; used when chars is null
+    private final int start;
+    private final int length;
+    private int hash;
+
+    StringSlice(char[] chars, int start, int length) {
+        this.chars = chars;
+        this.bytes = null;
+        this.start = start;
+        this.length = length;
+    }
+
+    StringSlice(byte[] bytes, int start, int length) {
+        this.chars = null;
+        this.bytes = bytes;
+        this.start = start;
+        this.length = length;
+    }
+
+    StringSlice(String s) {
+        this(s.toCharArray(), 0, s.length());
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public char charAt(int i) {
+        return chars != null ? chars[start + i] : (char) bytes[start + i];
+    }
+
+    public CharSequence subSequence(int from, int to) {
+        if (chars == null)
+            return new StringSlice(bytes, start + from, to - from);
+        return new StringSlice(chars, start + from, to - from);
+    }
+
+    // Same as String.hashCode() of the text
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            for (int i = 0; i < length; ++i)
+                h = 31 * h + charAt(i);
+            hash = h;
+        }
+        return h;
+    }
+
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof StringSlice))
+            return false;
+        StringSlice s = (StringSlice) o;
+        if (s.length != length || s.hashCode() != hashCode())
+            return false;
+        for (int i = 0; i < length; ++i)
+            if (s.charAt(i) != charAt(i))
+                return false;
+        return true;
+    }
+
+    public String toString() {
+        if (chars == null)
+            return new String(bytes, start, length, java.nio.charset.StandardCharsets.ISO_8859_1);
+        return new String(chars, start, length);
+    }
+}
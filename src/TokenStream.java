@@ -0,0 +1,221 @@
+import java.util.*;
+import java_cup.runtime.*;
+
+// The tokens of a whole program, scanned ahead of parsing (-prelex) and
+// kept in parallel int arrays: kind, line, column and value. The value is
+// the number of an integer literal, the id of an identifier or the index
+// of a string literal. A token takes 16 bytes and no objects, so the
+// stream can be kept and parsed again at little cost.
+//
+// The parser reads the stream through scanner(), which makes each Symbol
+// only when the parser asks for it; DescentParser reads the arrays as they
+// are. Diagnostics the lexer reported are reported again when the parser
+// gets to the token they came with, so the output is the same as when
+// lexing and parsing go hand in hand. If the lexer failed, the parser gets
+// its exception where the lexer threw it.
+class TokenStream {
+    private int[] kinds = new int[1024];
+    private int[] lines = new int[1024];
+    private int[] columns = new int[1024];
+    private int[] values = new int[1024];
+    private int count;
+
+    private String[] names = new String[64];           // by id
+    private List<StringSlice> literals = new ArrayList<StringSlice>();
+
+    private List<Diagnostic> diagnostics = new ArrayList<Diagnostic>();
+    private List<Integer> diagnosticTokens = new ArrayList<Integer>();
+
+    // what the lexer threw after the last token, if it did; then there is
+    // no EOF token
+    private Exception failure;
+
+    // Scan everything lexer gives, up to and including EOF or until it
+    // throws; errors is where the lexer reports to.
+    static TokenStream scan(java_cup.runtime.Scanner lexer, Errors errors) {
+        TokenStream s = new TokenStream();
+        int reported = errors.diagnostics().size();
+        while (true) {
+            Symbol token;
+            try {
+                token = lexer.next_token();
+            } catch (Exception e) {
+                token = null;
+                s.failure = e;
+            }
+            List<Diagnostic> found = errors.diagnostics();
+            for (; reported < found.size(); reported++) {
+                s.diagnostics.add(found.get(reported));
+                s.diagnosticTokens.add(s.count);
+            }
+            if (token == null)
+                return s;
+            s.add(token);
+            if (token.sym == sym.EOF)
+                return s;
+        }
+    }
+
+    int size() {
+        return count;
+    }
+
+    // Whether the stream ends where the lexer failed
+    boolean failed() {
+        return failure != null;
+    }
+
+    // Append the tokens of chunk, a part of the same source that was lexed
+    // on its own, except its EOF. Its lines are shifted by lines; names is
+    // where this stream's identifiers are interned, so ids come out as if
+    // the chunk had been lexed in place.
+    void append(TokenStream chunk, int lines, Names names) {
+        int[] ids = new int[chunk.names.length];
+        Arrays.fill(ids, -1);
+        int strings = literals.size();
+        int base = count;
+        for (int i = 0; i < chunk.count; ++i) {
+            int kind = chunk.kinds[i];
+            if (kind == sym.EOF)
+                break;
+            int v = chunk.values[i];
+            if (kind == sym.ID) {
+                if (ids[v] < 0) {
+                    ids[v] = names.intern(chunk.names[v]);
+                    name(ids[v], names.name(ids[v]));
+                }
+                v = ids[v];
+            } else if (kind == sym.STRINGLITERAL) {
+                v += strings;
+            }
+            add(kind, chunk.lines[i] + lines, chunk.columns[i], v);
+        }
+        literals.addAll(chunk.literals);
+        for (int i = 0; i < chunk.diagnostics.size(); ++i) {
+            Diagnostic d = chunk.diagnostics.get(i);
+            diagnostics.add(new Diagnostic(d.line() + lines, d.column(), d.severity(), d.message()));
+            diagnosticTokens.add(base + chunk.diagnosticTokens.get(i));
+        }
+        failure = chunk.failure;
+    }
+
+    // End the stream after the chunks appended to it
+    void end() {
+        if (failure == null)
+            add(sym.EOF, 0, 0, 0);
+    }
+
+    private void add(Symbol token) {
+        int line = 0, column = 0, value = 0;
+        if (token.value instanceof TokenVal) {
+            TokenVal v = (TokenVal) token.value;
+            line = v.linenum;
+            column = v.charnum;
+        }
+        if (token.value instanceof IdTokenVal) {
+            IdTokenVal v = (IdTokenVal) token.value;
+            name(v.id, v.strVal);
+            value = v.id;
+        } else if (token.value instanceof IntLitTokenVal) {
+            value = ((IntLitTokenVal) token.value).intVal;
+        } else if (token.value instanceof StringLitTokenVal) {
+            value = literals.size();
+            literals.add(((StringLitTokenVal) token.value).literal);
+        }
+        add(token.sym, line, column, value);
+    }
+
+    private void add(int kind, int line, int column, int value) {
+        if (count == kinds.length) {
+            kinds = Arrays.copyOf(kinds, 2 * count);
+            lines = Arrays.copyOf(lines, 2 * count);
+            columns = Arrays.copyOf(columns, 2 * count);
+            values = Arrays.copyOf(values, 2 * count);
+        }
+        kinds[count] = kind;
+        lines[count] = line;
+        columns[count] = column;
+        values[count] = value;
+        count++;
+    }
+
+    private void name(int id, String name) {
+        if (id >= names.length)
+            names = Arrays.copyOf(names, Math.max(2 * names.length, id + 1));
+        names[id] = name;
+    }
+
+    // The token at i as the lexer made it
+    private Symbol symbol(int i) {
+        int l = lines[i], c = columns[i], v = values[i];
+        switch (kinds[i]) {
+        case sym.EOF:
+            return new Symbol(sym.EOF);
+        case sym.ID:
+            return new Symbol(sym.ID, new IdTokenVal(l, c, names[v], v));
+        case sym.INTLITERAL:
+            return new Symbol(sym.INTLITERAL, new IntLitTokenVal(l, c, v));
+        case sym.STRINGLITERAL:
+            return new Symbol(sym.STRINGLITERAL, new StringLitTokenVal(l, c, literals.get(v)));
+        default:
+            return new Symbol(kinds[i], new TokenVal(l, c));
+        }
+    }
+
+    // A scanner over the stream for a parser; the lexer's diagnostics go
+    // to errors on the way.
+    java_cup.runtime.Scanner scanner(Errors errors) {
+        return scanner(errors, 0);
+    }
+
+    // The same, where the first reported diagnostics have been reported
+    // already (see DescentParser)
+    java_cup.runtime.Scanner scanner(final Errors errors, final int reported) {
+        return new java_cup.runtime.Scanner() {
+            int next = 0;
+            int nextDiagnostic = reported;
+
+            public Symbol next_token() throws Exception {
+                nextDiagnostic = report(next, nextDiagnostic, errors);
+                if (failure != null && next >= count)
+                    throw failure;
+                return symbol(Math.min(next++, count - 1));
+            }
+        };
+    }
+
+    // Report the diagnostics that came with the tokens up to i to errors,
+    // from the next'th one on; returns the number reported then
+    int report(int i, int next, Errors errors) {
+        while (next < diagnostics.size() && diagnosticTokens.get(next) <= i)
+            errors.repeat(diagnostics.get(next++));
+        return next;
+    }
+
+    // The token at i, for a parser that reads the stream itself
+    int kind(int i) {
+        return kinds[i];
+    }
+
+    int line(int i) {
+        return lines[i];
+    }
+
+    int column(int i) {
+        return columns[i];
+    }
+
+    int value(int i) {
+        return values[i];
+    }
+
+    // The name of an identifier's id, the value of its token
+    String name(int id) {
+        return names[id];
+    }
+
+    // A string literal by its index, the value of its token
+    StringSlice literal(int index) {
+        return literals.get(index);
+    }
+}
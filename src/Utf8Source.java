@@ -0,0 +1,37 @@
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+
+// A source file kept as its UTF-8 bytes (-utf8), read in one go and never
+// decoded as a whole: ByteLexer scans the bytes themselves. That takes
+// half the memory of a char buffer and skips the decoding. Only string
+// literals with characters beyond ASCII are decoded, when they are
+// scanned.
+//
+// The file is read rather than mapped: ByteLexer scanning a mapping
+// through ByteBuffer.get measured slower than reading the file into an
+// array and scanning that.
+//
+// It is a Reader as well, decoding as it is read, so it can go wherever a
+// source is expected.
+class Utf8Source extends Reader {
+    static final Charset UTF8 = Charset.forName("UTF-8");
+
+    byte[] bytes;
+    int length;
+    private Reader decoded;
+
+    Utf8Source(File file) throws IOException {
+        bytes = Files.readAllBytes(file.toPath());
+        length = bytes.length;
+    }
+
+    public int read(char[] b, int off, int len) throws IOException {
+        if (decoded == null)
+            decoded = new InputStreamReader(new ByteArrayInputStream(bytes, 0, length), UTF8);
+        return decoded.read(b, off, len);
+    }
+
+    public void close() {
+    }
+}
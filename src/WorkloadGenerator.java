@@ -0,0 +1,247 @@
+import java.io.*;
+import java.util.*;
+
+// Writes a synthetic SimpleC program for scaling tests:
+//
+//   java WorkloadGenerator [knobs] [out.c]
+//
+//   -functions N   functions besides main                    (default 100)
+//   -depth N       nesting depth of if/while/for statements  (default 2)
+//   -expr N        nesting depth of expressions              (default 3)
+//   -stmts N       statements per block                      (default 3)
+//   -strings N     distinct string literals                  (default 20)
+//   -globals N     global variables                          (default 10)
+//   -fanout N      calls made by each function               (default 2)
+//   -comments N    comment lines before each function        (default 0)
+//   -strlen N      extra characters in each string literal   (default 0)
+//   -seed N        the same seed gives the same program      (default 1)
+//
+// The program follows c.cup and compiles without errors. It is made for
+// measuring the compiler against the size of its input, not for running:
+// it computes nothing useful and may divide by zero. Without a file name
+// the program is written to stdout.
+class WorkloadGenerator {
+    int functions = 100;
+    int depth = 2;
+    int expr = 3;
+    int stmts = 3;
+    int strings = 20;
+    int globals = 10;
+    int fanout = 2;
+    int comments = 0;
+    int strlen = 0;
+    long seed = 1;
+
+    private static final int LOCALS = 3;
+    private static final String[] ARITHMETIC = { "+", "-", "*", "/", "%" };
+    private static final String[] COMPARE = { "==", "!=", "<", ">", "<=", ">=" };
+    private static final String[] ASSIGN = { "=", "=", "=", "+=", "-=", "*=", "/=" };
+
+    private Random random;
+    private PrintWriter out;
+    private int fn;
+
+    public static void main(String[] args) throws IOException {
+        WorkloadGenerator g = new WorkloadGenerator();
+        String file = null;
+        for (int i = 0; i < args.length; ++i) {
+            if (!args[i].startsWith("-") || i + 1 == args.length) {
+                file = args[i];
+                continue;
+            }
+            if (!g.set(args[i].substring(1), Long.parseLong(args[++i]))) {
+                System.err.println("unknown knob " + args[i - 1]);
+                System.exit(-1);
+            }
+        }
+
+        Writer w = file == null ? new OutputStreamWriter(System.out) : new FileWriter(file);
+        PrintWriter out = new PrintWriter(new BufferedWriter(w));
+        g.write(out);
+        out.close();
+    }
+
+    // Set a knob by its name (without the '-'); false if there is none
+    boolean set(String knob, long value) {
+        if (knob.equals("functions"))
+            functions = (int) value;
+        else if (knob.equals("depth"))
+            depth = (int) value;
+        else if (knob.equals("expr"))
+            expr = (int) value;
+        else if (knob.equals("stmts"))
+            stmts = (int) value;
+        else if (knob.equals("strings"))
+            strings = (int) value;
+        else if (knob.equals("globals"))
+            globals = (int) value;
+        else if (knob.equals("fanout"))
+            fanout = (int) value;
+        else if (knob.equals("comments"))
+            comments = (int) value;
+        else if (knob.equals("strlen"))
+            strlen = (int) value;
+        else if (knob.equals("seed"))
+            seed = value;
+        else
+            return false;
+        return true;
+    }
+
+    // The program as a string
+    String generate() {
+        StringWriter s = new StringWriter();
+        write(new PrintWriter(s));
+        return s.toString();
+    }
+
+    void write(PrintWriter out) {
+        this.out = out;
+        random = new Random(seed);
+
+        for (int i = 0; i < globals; ++i)
+            out.println("int g" + i + ";");
+        out.println();
+
+        for (fn = 0; fn < functions; ++fn) {
+            banner();
+            out.println("int f" + fn + "(int a, int b) {");
+            locals("    ");
+            calls("    ");
+            block("    ", depth);
+            out.println("    return " + exp(expr) + ";");
+            out.println("}");
+            out.println();
+        }
+
+        out.println("void main() {");
+        locals("    ");
+        if (globals > 0)
+            out.println("    scanf(g0);");
+        calls("    ");
+        block("    ", depth);
+        out.println("}");
+        out.flush();
+    }
+
+    // A block of comment lines, in both styles
+    private void banner() {
+        for (int i = 0; i < comments; ++i) {
+            if (i == 0 || i == comments - 1)
+                out.println("//////////////////////////////////////////////////////////////////////");
+            else if (i % 2 == 1)
+                out.println("// f" + fn + ": computes nothing useful, only here to be compiled.   //");
+            else
+                out.println("#  generated by WorkloadGenerator; line " + i + " of " + comments);
+        }
+    }
+
+    private void locals(String indent) {
+        for (int i = 0; i < LOCALS; ++i)
+            out.println(indent + "int x" + i + ";");
+    }
+
+    // fanout calls of functions defined before this one
+    private void calls(String indent) {
+        if (fn == 0)
+            return;
+        for (int i = 0; i < fanout; ++i)
+            out.println(indent + local() + " = f" + random.nextInt(fn) + "(" + exp(expr - 1) + ", " + exp(expr - 1) + ");");
+    }
+
+    private void block(String indent, int depth) {
+        for (int i = 0; i < stmts; ++i)
+            stmt(indent, depth);
+    }
+
+    private void stmt(String indent, int depth) {
+        int kind = random.nextInt(depth > 0 ? 8 : 3);
+        String inner = indent + "    ";
+        switch (kind) {
+        case 0:
+        case 1:
+            out.println(indent + local() + " " + pick(ASSIGN) + " " + exp(expr) + ";");
+            break;
+        case 2:
+            if (strings > 0)
+                out.println(indent + "printf(" + string() + ", " + exp(expr) + ", \"\\n\");");
+            else
+                out.println(indent + "printf(" + exp(expr) + ");");
+            break;
+        case 3:
+        case 4:
+            out.println(indent + "if (" + cond() + ") {");
+            block(inner, depth - 1);
+            if (kind == 4) {
+                out.println(indent + "} else {");
+                block(inner, depth - 1);
+            }
+            out.println(indent + "}");
+            break;
+        case 5:
+        case 6: {
+            String i = local();
+            out.println(indent + "for (" + i + " = 0; " + i + " < " + (1 + random.nextInt(100)) + "; " + i + " = " + i + " + 1) {");
+            block(inner, depth - 1);
+            out.println(indent + "}");
+            break;
+        }
+        default:
+            out.println(indent + "while (" + cond() + ") {");
+            block(inner, depth - 1);
+            out.println(indent + (fn < functions ? "    return " + exp(1) + ";" : "    return;"));
+            out.println(indent + "}");
+            break;
+        }
+    }
+
+    private String cond() {
+        String c = "(" + exp(expr - 1) + " " + pick(COMPARE) + " " + exp(expr - 1) + ")";
+        switch (random.nextInt(4)) {
+        case 0:
+            return c + " && (" + exp(expr - 1) + " " + pick(COMPARE) + " " + exp(expr - 1) + ")";
+        case 1:
+            return c + " || !(" + exp(expr - 1) + " " + pick(COMPARE) + " " + exp(expr - 1) + ")";
+        default:
+            return c;
+        }
+    }
+
+    private String exp(int depth) {
+        if (depth <= 0 || random.nextInt(4) == 0)
+            return leaf();
+        if (random.nextInt(8) == 0)
+            return "-(" + exp(depth - 1) + ")";
+        return "(" + exp(depth - 1) + " " + pick(ARITHMETIC) + " " + exp(depth - 1) + ")";
+    }
+
+    private String leaf() {
+        switch (random.nextInt(globals > 0 ? 4 : 3)) {
+        case 0:
+            return String.valueOf(random.nextInt(1000));
+        case 1:
+            if (fn == functions)
+                return local();   // main has no parameters
+            return random.nextBoolean() ? "a" : "b";
+        case 2:
+            return local();
+        default:
+            return "g" + random.nextInt(globals);
+        }
+    }
+
+    private String local() {
+        return "x" + random.nextInt(LOCALS);
+    }
+
+    private String string() {
+        StringBuilder s = new StringBuilder("\"s").append(random.nextInt(strings));
+        for (int i = 0; i < strlen; ++i)
+            s.append(i % 8 == 7 ? ' ' : (char) ('a' + i % 26));
+        return s.append(" = \"").toString();
+    }
+
+    private String pick(String[] choices) {
+        return choices[random.nextInt(choices.length)];
+    }
+}
@@ -24,51 +24,55 @@ class IntLitTokenVal extends TokenVal {
 }
 class BadEscapedChar extends Exception {
 }
-//TokenVal for both STRINGLITERAL and ID
+//TokenVal with a String value
 class StringTokenVal extends TokenVal {
   String strVal;
   StringTokenVal(int l, int c, String s) {
     super(l, c);
     strVal = s;
   }
-  //process string s and return a String with all the escaped characters expanded
-  //throws BadEscapedChar if a bad escaped character is found
-  public static String checkEscapedChars(String s) throws BadEscapedChar {
-    // index 0 is the opening quote, so don't include it.
-    int start = 1;
-    int slash = s.indexOf("\\");
-    String strVal = "";
-    while (slash != -1) {
-      strVal = strVal + s.substring(start, slash);
-      // if the slash is the last character in the string then we are done.
-      if (slash == s.length() - 1) throw new BadEscapedChar();
-      char c = s.charAt(slash + 1);
-      if (c == 'n') {
-        strVal = strVal + "\n";
-      } else if (c == 't') {
-        strVal = strVal + "\t";
-      } else if (c == '"') {
-        strVal = strVal + "\"";
-      } else if (c == '\\') {
-        strVal = strVal + "\\";
-      } else if (c == '\'') {
-        strVal = strVal + "'";
-      } else {
+}
+
+// TokenVal for STRINGLITERAL: the literal's text, quotes and escapes
+// included, as it appears in the source
+class StringLitTokenVal extends TokenVal {
+  StringSlice literal;
+
+  StringLitTokenVal(int l, int c, StringSlice literal) {
+    super(l, c);
+    this.literal = literal;
+  }
+
+  // Check the escaped characters of the literal in buffer[start, start +
+  // length), opening quote first, in one pass and without making a String.
+  // Throws BadEscapedChar if a bad escaped character is found.
+  static void checkEscapedChars(char[] buffer, int start, int length) throws BadEscapedChar {
+    int end = start + length;
+    for (int i = start + 1; i < end; ++i) {
+      if (buffer[i] != '\\')
+        continue;
+      // a slash as the last character escapes nothing
+      if (i == end - 1) throw new BadEscapedChar();
+      char c = buffer[++i];
+      if (c != 'n' && c != 't' && c != '"' && c != '\\' && c != '\'')
         throw new BadEscapedChar();
-      }
-      start = slash + 2;
-      slash = s.indexOf("\\", slash + 2);
     }
-    //the last character is the closing quote, so don't include.
-    if (start < s.length() - 1)
-      strVal = strVal + s.substring(start, s.length() - 1);
-    return strVal;
   }
 }
+
+// TokenVal for ID: the name is interned (see Names) and has an id
+class IdTokenVal extends StringTokenVal {
+  int id;
+  IdTokenVal(int l, int c, String s, int id) {
+    super(l, c, s);
+    this.id = id;
+  }
+}
+
 // The following class is used to keep track of the character number at which
-// the current token starts on its line.
+// the current token starts on its line. There is one per compilation.
 class CharNum {
-  static int num=1;
+  int num=1;
 }
 
 
@@ -90,6 +94,49 @@ class Yylex implements java_cup.runtime.Scanner {
 	private int yyline;
 	private int yy_lexical_state;
 
+  // Per-compilation state; a scanner built without a context gets its own.
+  private CharNum charNum = new CharNum();
+  private Errors errors = new Errors(System.out);
+  private Names names = new Names();
+
+  Yylex(java.io.Reader reader, CompileContext ctx) {
+    this(reader);
+    charNum = ctx.charNum;
+    errors = ctx.errors;
+    names = ctx.names;
+  }
+
+  // Scan a source that is in memory already: its text is the buffer, so
+  // it is never refilled. At the end of input the scanner still shifts the
+  // last token to the front of the buffer, so the text is only the source
+  // until it has been scanned. An empty source gets a buffer of its own:
+  // one of length zero would be doubled and read into forever.
+  Yylex(MappedSource source, CompileContext ctx) {
+    this();
+    yy_reader = new java.io.BufferedReader(new java.io.StringReader(""), 1);
+    if (source.length > 0) {
+      yy_buffer = source.text;
+      yy_buffer_read = source.length;
+    }
+    charNum = ctx.charNum;
+    errors = ctx.errors;
+    names = ctx.names;
+  }
+
+  // The string literal just matched. The buffer may be shifted or refilled
+  // later, so it is copied.
+  private StringSlice literal() {
+    char[] text = new char[yylength()];
+    System.arraycopy(yy_buffer, yy_buffer_start, text, 0, text.length);
+    return new StringSlice(text, 0, text.length);
+  }
+
+  // The token value of the identifier just matched. Its name is interned
+  // straight from the buffer, without making a String.
+  private IdTokenVal identifier() {
+    int id = names.intern(yy_buffer, yy_buffer_start, yylength());
+    return new IdTokenVal(yyline+1, charNum.num, names.name(id), id);
+  }
 	Yylex (java.io.Reader reader) {
 		this ();
 		if (null == reader) {
@@ -418,83 +465,83 @@ return new Symbol(sym.EOF);
 					}
 					switch (yy_last_accept_state) {
 					case 1:
-						{ Errors.fatal(yyline+1, CharNum.num, "ignoring illegal character: " + yytext());
-    CharNum.num++; }
+						{ errors.fatal(yyline+1, charNum.num, "ignoring illegal character: " + yytext());
+    charNum.num++; }
 					case -2:
 						break;
 					case 2:
-						{CharNum.num += yytext().length(); }
+						{charNum.num += yylength(); }
 					case -3:
 						break;
 					case 3:
-						{CharNum.num = 1;}
+						{charNum.num = 1;}
 					case -4:
 						break;
 					case 4:
-						{CharNum.num = 1;}
+						{charNum.num = 1;}
 					case -5:
 						break;
 					case 5:
-						{ Symbol s = new Symbol(sym.NOT, new TokenVal(yyline+1, CharNum.num));
-    CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.NOT, new TokenVal(yyline+1, charNum.num));
+    charNum.num += 1;
     return s; }
 					case -6:
 						break;
 					case 6:
-						{ CharNum.num += yytext().length(); }
+						{ charNum.num += yylength(); }
 					case -7:
 						break;
 					case 7:
-						{ Symbol s = new Symbol(sym.PERCENT, new TokenVal(yyline+1, CharNum.num));
-      CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.PERCENT, new TokenVal(yyline+1, charNum.num));
+      charNum.num += 1;
       return s; }
 					case -8:
 						break;
 					case 8:
-						{ Symbol s = new Symbol(sym.ADDROF, new TokenVal(yyline+1, CharNum.num));
-     CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.ADDROF, new TokenVal(yyline+1, charNum.num));
+     charNum.num += 1;
      return s; }
 					case -9:
 						break;
 					case 9:
-						{ Symbol s = new Symbol(sym.LPAREN, new TokenVal(yyline+1, CharNum.num));
-      CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.LPAREN, new TokenVal(yyline+1, charNum.num));
+      charNum.num += 1;
       return s; }
 					case -10:
 						break;
 					case 10:
-						{ Symbol s = new Symbol(sym.RPAREN, new TokenVal(yyline+1, CharNum.num));
-      CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.RPAREN, new TokenVal(yyline+1, charNum.num));
+      charNum.num += 1;
       return s; }
 					case -11:
 						break;
 					case 11:
-						{ Symbol s = new Symbol(sym.TIMES, new TokenVal(yyline+1, CharNum.num));
-      CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.TIMES, new TokenVal(yyline+1, charNum.num));
+      charNum.num += 1;
       return s; }
 					case -12:
 						break;
 					case 12:
-						{ Symbol s = new Symbol(sym.PLUS, new TokenVal(yyline+1, CharNum.num));
-      CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.PLUS, new TokenVal(yyline+1, charNum.num));
+      charNum.num += 1;
       return s; }
 					case -13:
 						break;
 					case 13:
-						{ Symbol s = new Symbol(sym.COMMA, new TokenVal(yyline+1, CharNum.num));
-    CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.COMMA, new TokenVal(yyline+1, charNum.num));
+    charNum.num += 1;
     return s; }
 					case -14:
 						break;
 					case 14:
-						{ Symbol s = new Symbol(sym.MINUS, new TokenVal(yyline+1, CharNum.num));
-    CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.MINUS, new TokenVal(yyline+1, charNum.num));
+    charNum.num += 1;
     return s; }
 					case -15:
 						break;
 					case 15:
-						{ Symbol s = new Symbol(sym.DIVIDE, new TokenVal(yyline+1, CharNum.num));
-    CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.DIVIDE, new TokenVal(yyline+1, charNum.num));
+    charNum.num += 1;
     return s; }
 					case -16:
 						break;
@@ -504,84 +551,84 @@ return new Symbol(sym.EOF);
    try {
      val = (new Integer(yytext())).intValue();
    } catch (NumberFormatException e) {
-     Errors.warn(yyline+1, CharNum.num, "integer literal too large; using max value");
+     errors.warn(yyline+1, charNum.num, "integer literal too large; using max value");
      val = Integer.MAX_VALUE;
    }
-   Symbol s = new Symbol(sym.INTLITERAL, new IntLitTokenVal(yyline+1, CharNum.num, val));
-   CharNum.num += yytext().length();
+   Symbol s = new Symbol(sym.INTLITERAL, new IntLitTokenVal(yyline+1, charNum.num, val));
+   charNum.num += yylength();
    return s;
 }
 					case -17:
 						break;
 					case 17:
-						{ Symbol s = new Symbol(sym.SEMICOLON, new TokenVal(yyline+1, CharNum.num));
-    CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.SEMICOLON, new TokenVal(yyline+1, charNum.num));
+    charNum.num += 1;
     return s; }
 					case -18:
 						break;
 					case 18:
-						{ Symbol s = new Symbol(sym.LESS, new TokenVal(yyline+1, CharNum.num));
-    CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.LESS, new TokenVal(yyline+1, charNum.num));
+    charNum.num += 1;
     return s; }
 					case -19:
 						break;
 					case 19:
-						{ Symbol s = new Symbol(sym.ASSIGN, new TokenVal(yyline+1, CharNum.num));
-    CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.ASSIGN, new TokenVal(yyline+1, charNum.num));
+    charNum.num += 1;
     return s; }
 					case -20:
 						break;
 					case 20:
-						{ Symbol s = new Symbol(sym.GREATER, new TokenVal(yyline+1, CharNum.num));
-    CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.GREATER, new TokenVal(yyline+1, charNum.num));
+    charNum.num += 1;
     return s; }
 					case -21:
 						break;
 					case 21:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -22:
 						break;
 					case 22:
-						{ Symbol s = new Symbol(sym.LSQBRACKET, new TokenVal(yyline+1, CharNum.num));
-    CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.LSQBRACKET, new TokenVal(yyline+1, charNum.num));
+    charNum.num += 1;
     return s; }
 					case -23:
 						break;
 					case 23:
-						{ Symbol s = new Symbol(sym.RSQBRACKET, new TokenVal(yyline+1, CharNum.num));
-    CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.RSQBRACKET, new TokenVal(yyline+1, charNum.num));
+    charNum.num += 1;
     return s; }
 					case -24:
 						break;
 					case 24:
-						{ Symbol s = new Symbol(sym.LCURLY, new TokenVal(yyline+1, CharNum.num));
-    CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.LCURLY, new TokenVal(yyline+1, charNum.num));
+    charNum.num += 1;
     return s; }
 					case -25:
 						break;
 					case 25:
-						{ Symbol s = new Symbol(sym.RCURLY, new TokenVal(yyline+1, CharNum.num));
-    CharNum.num += 1;
+						{ Symbol s = new Symbol(sym.RCURLY, new TokenVal(yyline+1, charNum.num));
+    charNum.num += 1;
     return s; }
 					case -26:
 						break;
 					case 26:
-						{ Symbol s = new Symbol(sym.NOTEQUALS, new TokenVal(yyline+1, CharNum.num));
-     CharNum.num += 2;
+						{ Symbol s = new Symbol(sym.NOTEQUALS, new TokenVal(yyline+1, charNum.num));
+     charNum.num += 2;
      return s; }
 					case -27:
 						break;
 					case 27:
 						{
     try {
-      StringTokenVal.checkEscapedChars(yytext());
-      Errors.fatal(yyline+1, CharNum.num, "ignoring unterminated string literal");
+      StringLitTokenVal.checkEscapedChars(yy_buffer, yy_buffer_start, yylength());
+      errors.fatal(yyline+1, charNum.num, "ignoring unterminated string literal");
     } catch (BadEscapedChar e) {
-      Errors.fatal(yyline+1, CharNum.num, "ignoring unterminated string literal with bad escaped character");
+      errors.fatal(yyline+1, charNum.num, "ignoring unterminated string literal with bad escaped character");
     }
 }
 					case -28:
@@ -589,272 +636,271 @@ return new Symbol(sym.EOF);
 					case 28:
 						{
     try {
-      String str = StringTokenVal.checkEscapedChars(yytext());
-      //Symbol s = new Symbol(sym.STRINGLITERAL, new StringTokenVal(yyline+1, CharNum.num, str));
-      Symbol s = new Symbol(sym.STRINGLITERAL, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-      CharNum.num += yytext().length();
+      StringLitTokenVal.checkEscapedChars(yy_buffer, yy_buffer_start, yylength());
+      Symbol s = new Symbol(sym.STRINGLITERAL, new StringLitTokenVal(yyline+1, charNum.num, literal()));
+      charNum.num += yylength();
       return s;
     } catch (BadEscapedChar e) {
-      Errors.fatal(yyline+1, CharNum.num, "ignoring string literal with bad escaped character");
-      CharNum.num += yytext().length();
+      errors.fatal(yyline+1, charNum.num, "ignoring string literal with bad escaped character");
+      charNum.num += yylength();
     }
 }
 					case -29:
 						break;
 					case 29:
-						{ Symbol s = new Symbol(sym.AND, new TokenVal(yyline+1, CharNum.num));
-     CharNum.num += 2;
+						{ Symbol s = new Symbol(sym.AND, new TokenVal(yyline+1, charNum.num));
+     charNum.num += 2;
      return s; }
 					case -30:
 						break;
 					case 30:
-						{ Symbol s = new Symbol(sym.TIMESEQL, new TokenVal(yyline+1, CharNum.num));
-       CharNum.num += 2;
+						{ Symbol s = new Symbol(sym.TIMESEQL, new TokenVal(yyline+1, charNum.num));
+       charNum.num += 2;
        return s; }
 					case -31:
 						break;
 					case 31:
-						{ Symbol s = new Symbol(sym.PLUSEQL, new TokenVal(yyline+1, CharNum.num));
-       CharNum.num += 2;
+						{ Symbol s = new Symbol(sym.PLUSEQL, new TokenVal(yyline+1, charNum.num));
+       charNum.num += 2;
        return s; }
 					case -32:
 						break;
 					case 32:
-						{ Symbol s = new Symbol(sym.MINUSEQL, new TokenVal(yyline+1, CharNum.num));
-     CharNum.num += 2;
+						{ Symbol s = new Symbol(sym.MINUSEQL, new TokenVal(yyline+1, charNum.num));
+     charNum.num += 2;
      return s; }
 					case -33:
 						break;
 					case 33:
-						{ Symbol s = new Symbol(sym.DIVEQL, new TokenVal(yyline+1, CharNum.num));
-     CharNum.num += 2;
+						{ Symbol s = new Symbol(sym.DIVEQL, new TokenVal(yyline+1, charNum.num));
+     charNum.num += 2;
      return s; }
 					case -34:
 						break;
 					case 34:
-						{ Symbol s = new Symbol(sym.LESSEQ, new TokenVal(yyline+1, CharNum.num));
-     CharNum.num += 2;
+						{ Symbol s = new Symbol(sym.LESSEQ, new TokenVal(yyline+1, charNum.num));
+     charNum.num += 2;
      return s; }
 					case -35:
 						break;
 					case 35:
-						{ Symbol s = new Symbol(sym.EQUALS, new TokenVal(yyline+1, CharNum.num));
-     CharNum.num += 2;
+						{ Symbol s = new Symbol(sym.EQUALS, new TokenVal(yyline+1, charNum.num));
+     charNum.num += 2;
      return s; }
 					case -36:
 						break;
 					case 36:
-						{ Symbol s = new Symbol(sym.GREATEREQ, new TokenVal(yyline+1, CharNum.num));
-     CharNum.num += 2;
+						{ Symbol s = new Symbol(sym.GREATEREQ, new TokenVal(yyline+1, charNum.num));
+     charNum.num += 2;
      return s; }
 					case -37:
 						break;
 					case 37:
-						{ Symbol s = new Symbol(sym.IF, new TokenVal(yyline+1, CharNum.num));
-     CharNum.num += 2;
+						{ Symbol s = new Symbol(sym.IF, new TokenVal(yyline+1, charNum.num));
+     charNum.num += 2;
      return s; }
 					case -38:
 						break;
 					case 38:
-						{ Symbol s = new Symbol(sym.OR, new TokenVal(yyline+1, CharNum.num));
-       CharNum.num += 2;
+						{ Symbol s = new Symbol(sym.OR, new TokenVal(yyline+1, charNum.num));
+       charNum.num += 2;
        return s; }
 					case -39:
 						break;
 					case 39:
-						{ Symbol s = new Symbol(sym.FOR, new TokenVal(yyline+1, CharNum.num));
-      CharNum.num += 3;
+						{ Symbol s = new Symbol(sym.FOR, new TokenVal(yyline+1, charNum.num));
+      charNum.num += 3;
       return s; }
 					case -40:
 						break;
 					case 40:
-						{ Symbol s = new Symbol(sym.INT, new TokenVal(yyline+1, CharNum.num));
-      CharNum.num += 3;
+						{ Symbol s = new Symbol(sym.INT, new TokenVal(yyline+1, charNum.num));
+      charNum.num += 3;
       return s; }
 					case -41:
 						break;
 					case 41:
-						{ Symbol s = new Symbol(sym.ELSE, new TokenVal(yyline+1, CharNum.num));
-       CharNum.num += 4;
+						{ Symbol s = new Symbol(sym.ELSE, new TokenVal(yyline+1, charNum.num));
+       charNum.num += 4;
        return s; }
 					case -42:
 						break;
 					case 42:
-						{ Symbol s = new Symbol(sym.VOID, new TokenVal(yyline+1, CharNum.num));
-       CharNum.num += 4;
+						{ Symbol s = new Symbol(sym.VOID, new TokenVal(yyline+1, charNum.num));
+       charNum.num += 4;
        return s; }
 					case -43:
 						break;
 					case 43:
-						{ Symbol s = new Symbol(sym.WHILE, new TokenVal(yyline+1, CharNum.num));
-        CharNum.num += 5;
+						{ Symbol s = new Symbol(sym.WHILE, new TokenVal(yyline+1, charNum.num));
+        charNum.num += 5;
         return s; }
 					case -44:
 						break;
 					case 44:
-						{ Symbol s = new Symbol(sym.RETURN, new TokenVal(yyline+1, CharNum.num));
-         CharNum.num += 6;
+						{ Symbol s = new Symbol(sym.RETURN, new TokenVal(yyline+1, charNum.num));
+         charNum.num += 6;
          return s; }
 					case -45:
 						break;
 					case 46:
-						{ Errors.fatal(yyline+1, CharNum.num, "ignoring illegal character: " + yytext());
-    CharNum.num++; }
+						{ errors.fatal(yyline+1, charNum.num, "ignoring illegal character: " + yytext());
+    charNum.num++; }
 					case -46:
 						break;
 					case 47:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -47:
 						break;
 					case 49:
-						{ Errors.fatal(yyline+1, CharNum.num, "ignoring illegal character: " + yytext());
-    CharNum.num++; }
+						{ errors.fatal(yyline+1, charNum.num, "ignoring illegal character: " + yytext());
+    charNum.num++; }
 					case -48:
 						break;
 					case 50:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -49:
 						break;
 					case 51:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -50:
 						break;
 					case 52:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -51:
 						break;
 					case 53:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -52:
 						break;
 					case 54:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -53:
 						break;
 					case 55:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -54:
 						break;
 					case 56:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -55:
 						break;
 					case 57:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -56:
 						break;
 					case 58:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -57:
 						break;
 					case 59:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -58:
 						break;
 					case 60:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -59:
 						break;
 					case 61:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -60:
 						break;
 					case 62:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -61:
 						break;
 					case 63:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -62:
 						break;
 					case 64:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -63:
 						break;
 					case 65:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -64:
 						break;
 					case 66:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -65:
 						break;
 					case 67:
 						{
-    Symbol s = new Symbol(sym.ID, new StringTokenVal(yyline+1, CharNum.num, yytext()));
-    CharNum.num += yytext().length();
+    Symbol s = new Symbol(sym.ID, identifier());
+    charNum.num += yylength();
     return s;
 }
 					case -66:
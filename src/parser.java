@@ -1,14 +1,14 @@
 
 //----------------------------------------------------
 // The following code was generated by CUP v0.10k
-// Tue Apr 07 19:44:41 ICT 2015
+// Sat Oct 17 00:55:40 UTC 2026
 //----------------------------------------------------
 
 import java_cup.runtime.*;
 import java.util.*;
 
 /** CUP v0.10k generated parser.
-  * @version Tue Apr 07 19:44:41 ICT 2015
+  * @version Sat Oct 17 00:55:40 UTC 2026
   */
 public class parser extends java_cup.runtime.lr_parser {
 
@@ -21,30 +21,31 @@ public class parser extends java_cup.runtime.lr_parser {
   /** Production table. */
   protected static final short _production_table[][] = 
     unpackFromStrings(new String[] {
-    "\000\113\000\002\002\004\000\002\003\003\000\002\004" +
+    "\000\116\000\002\002\004\000\002\003\003\000\002\004" +
     "\004\000\002\004\002\000\002\005\003\000\002\005\003" +
-    "\000\002\005\003\000\002\006\004\000\002\006\002\000" +
-    "\002\007\005\000\002\007\010\000\002\007\011\000\002" +
-    "\007\006\000\002\027\004\000\002\027\003\000\002\010" +
-    "\006\000\002\010\007\000\002\011\006\000\002\011\007" +
-    "\000\002\012\004\000\002\012\005\000\002\013\003\000" +
-    "\002\013\005\000\002\014\004\000\002\014\005\000\002" +
-    "\024\003\000\002\024\003\000\002\015\006\000\002\016" +
-    "\004\000\002\016\002\000\002\017\012\000\002\017\017" +
-    "\000\002\017\012\000\002\017\005\000\002\017\004\000" +
-    "\002\017\004\000\002\017\016\000\002\017\004\000\002" +
-    "\031\005\000\002\031\005\000\002\031\005\000\002\031" +
-    "\005\000\002\031\005\000\002\030\003\000\002\030\002" +
-    "\000\002\020\005\000\002\020\005\000\002\020\005\000" +
-    "\002\020\005\000\002\020\005\000\002\020\004\000\002" +
-    "\020\005\000\002\020\005\000\002\020\005\000\002\020" +
+    "\000\002\005\003\000\002\005\004\000\002\005\004\000" +
+    "\002\006\004\000\002\006\002\000\002\007\005\000\002" +
+    "\007\010\000\002\007\011\000\002\007\006\000\002\027" +
+    "\004\000\002\027\003\000\002\010\006\000\002\010\007" +
+    "\000\002\011\006\000\002\011\007\000\002\012\004\000" +
+    "\002\012\005\000\002\013\003\000\002\013\005\000\002" +
+    "\014\004\000\002\014\005\000\002\024\003\000\002\024" +
+    "\003\000\002\015\006\000\002\016\004\000\002\016\002" +
+    "\000\002\017\012\000\002\017\017\000\002\017\012\000" +
+    "\002\017\005\000\002\017\004\000\002\017\004\000\002" +
+    "\017\016\000\002\017\004\000\002\017\004\000\002\031" +
+    "\005\000\002\031\005\000\002\031\005\000\002\031\005" +
+    "\000\002\031\005\000\002\030\003\000\002\030\002\000" +
+    "\002\020\005\000\002\020\005\000\002\020\005\000\002" +
+    "\020\005\000\002\020\005\000\002\020\004\000\002\020" +
     "\005\000\002\020\005\000\002\020\005\000\002\020\005" +
-    "\000\002\020\005\000\002\020\004\000\002\020\003\000" +
-    "\002\020\004\000\002\021\003\000\002\021\003\000\002" +
-    "\021\003\000\002\021\005\000\002\021\003\000\002\022" +
-    "\005\000\002\022\006\000\002\023\003\000\002\023\005" +
-    "\000\002\025\003\000\002\025\006\000\002\025\004\000" +
-    "\002\026\003" });
+    "\000\002\020\005\000\002\020\005\000\002\020\005\000" +
+    "\002\020\005\000\002\020\004\000\002\020\003\000\002" +
+    "\020\004\000\002\021\003\000\002\021\003\000\002\021" +
+    "\003\000\002\021\005\000\002\021\003\000\002\022\005" +
+    "\000\002\022\006\000\002\023\003\000\002\023\005\000" +
+    "\002\025\003\000\002\025\006\000\002\025\004\000\002" +
+    "\026\003" });
 
   /** Access to production table. */
   public short[][] production_table() {return _production_table;}
@@ -52,275 +53,286 @@ public class parser extends java_cup.runtime.lr_parser {
   /** Parse-action table. */
   protected static final short[][] _action_table = 
     unpackFromStrings(new String[] {
-    "\000\241\000\010\002\ufffe\004\ufffe\005\ufffe\001\002\000" +
-    "\010\002\000\004\015\005\014\001\002\000\004\002\006" +
-    "\001\002\000\004\002\001\001\002\000\010\002\uffff\004" +
-    "\uffff\005\uffff\001\002\000\010\002\ufffb\004\ufffb\005\ufffb" +
-    "\001\002\000\006\013\016\031\020\001\002\000\010\002" +
-    "\ufffd\004\ufffd\005\ufffd\001\002\000\010\002\ufffc\004\ufffc" +
-    "\005\ufffc\001\002\000\006\013\uffe8\031\uffe8\001\002\000" +
-    "\006\013\uffe7\031\uffe7\001\002\000\062\020\uffb7\021\uffb7" +
-    "\022\uffb7\023\uffb7\024\uffb7\025\uffb7\026\uffb7\027\uffb7\030" +
-    "\uffb7\031\uffb7\032\uffb7\034\uffb7\035\uffb7\036\uffb7\037\uffb7" +
-    "\040\uffb7\041\uffb7\042\uffb7\043\uffb7\045\uffb7\046\uffb7\047" +
-    "\uffb7\050\uffb7\051\uffb7\001\002\000\006\013\016\031\037" +
-    "\001\002\000\006\013\ufff3\031\ufff3\001\002\000\010\020" +
-    "\022\022\025\026\023\001\002\000\004\014\235\001\002" +
-    "\000\026\002\ufff8\004\ufff8\005\ufff8\006\ufff8\010\ufff8\011" +
-    "\ufff8\012\ufff8\013\ufff8\017\ufff8\031\ufff8\001\002\000\006" +
-    "\016\042\026\041\001\002\000\010\004\015\005\014\023" +
-    "\026\001\002\000\006\016\uffee\026\uffee\001\002\000\006" +
-    "\013\016\031\020\001\002\000\004\023\034\001\002\000" +
-    "\006\023\uffec\024\032\001\002\000\006\004\015\005\014" +
-    "\001\002\000\004\023\uffeb\001\002\000\006\016\uffed\026" +
-    "\uffed\001\002\000\006\013\016\031\037\001\002\000\006" +
-    "\023\uffea\024\uffea\001\002\000\006\013\ufff4\031\ufff4\001" +
-    "\002\000\006\023\uffe9\024\uffe9\001\002\000\010\002\ufff0" +
-    "\004\ufff0\005\ufff0\001\002\000\024\004\ufff9\005\ufff9\006" +
-    "\ufff9\010\ufff9\011\ufff9\012\ufff9\013\ufff9\017\ufff9\031\ufff9" +
-    "\001\002\000\010\002\ufff2\004\ufff2\005\ufff2\001\002\000" +
-    "\024\004\015\005\014\006\uffe4\010\uffe4\011\uffe4\012\uffe4" +
-    "\013\uffe4\017\uffe4\031\uffe4\001\002\000\006\013\016\031" +
-    "\020\001\002\000\024\004\ufffa\005\ufffa\006\ufffa\010\ufffa" +
-    "\011\ufffa\012\ufffa\013\ufffa\017\ufffa\031\ufffa\001\002\000" +
-    "\020\006\055\010\050\011\052\012\061\013\016\017\056" +
-    "\031\060\001\002\000\004\022\216\001\002\000\062\020" +
-    "\uffba\021\uffba\022\207\023\uffba\024\uffba\025\uffba\026\uffba" +
-    "\027\uffba\030\uffba\031\uffba\032\uffba\034\uffba\035\uffba\036" +
-    "\uffba\037\uffba\040\uffba\041\uffba\042\uffba\043\uffba\045\uffba" +
-    "\046\uffba\047\uffba\050\uffba\051\uffba\001\002\000\004\022" +
-    "\172\001\002\000\020\006\uffe5\010\uffe5\011\uffe5\012\uffe5" +
-    "\013\uffe5\017\uffe5\031\uffe5\001\002\000\016\020\134\025" +
-    "\164\045\160\046\161\047\162\050\163\001\002\000\004" +
-    "\022\144\001\002\000\010\002\uffe6\004\uffe6\005\uffe6\001" +
-    "\002\000\004\026\143\001\002\000\022\013\016\014\076" +
-    "\015\071\022\075\030\064\031\060\033\074\044\067\001" +
-    "\002\000\024\013\016\014\076\015\071\022\075\026\072" +
-    "\030\064\031\060\033\074\044\067\001\002\000\004\026" +
-    "\063\001\002\000\020\006\uffdc\010\uffdc\011\uffdc\012\uffdc" +
-    "\013\uffdc\017\uffdc\031\uffdc\001\002\000\022\013\016\014" +
-    "\076\015\071\022\075\030\064\031\060\033\074\044\067" +
-    "\001\002\000\060\020\uffc5\021\uffc5\023\uffc5\024\uffc5\025" +
-    "\uffc5\026\uffc5\027\uffc5\030\uffc5\031\uffc5\032\uffc5\034\uffc5" +
-    "\035\uffc5\036\uffc5\037\uffc5\040\uffc5\041\uffc5\042\uffc5\043" +
-    "\uffc5\045\uffc5\046\uffc5\047\uffc5\050\uffc5\051\uffc5\001\002" +
-    "\000\036\026\140\027\110\030\100\031\113\032\102\034" +
-    "\101\035\115\036\114\037\103\040\111\041\107\042\105" +
-    "\043\106\051\104\001\002\000\022\013\016\014\076\015" +
-    "\071\022\075\030\064\031\060\033\074\044\067\001\002" +
-    "\000\060\020\134\021\uffc3\023\uffc3\024\uffc3\025\uffc3\026" +
-    "\uffc3\027\uffc3\030\uffc3\031\uffc3\032\uffc3\034\uffc3\035\uffc3" +
-    "\036\uffc3\037\uffc3\040\uffc3\041\uffc3\042\uffc3\043\uffc3\045" +
-    "\uffc3\046\uffc3\047\uffc3\050\uffc3\051\uffc3\001\002\000\060" +
-    "\020\uffc1\021\uffc1\023\uffc1\024\uffc1\025\uffc1\026\uffc1\027" +
-    "\uffc1\030\uffc1\031\uffc1\032\uffc1\034\uffc1\035\uffc1\036\uffc1" +
-    "\037\uffc1\040\uffc1\041\uffc1\042\uffc1\043\uffc1\045\uffc1\046" +
-    "\uffc1\047\uffc1\050\uffc1\051\uffc1\001\002\000\020\006\uffdf" +
-    "\010\uffdf\011\uffdf\012\uffdf\013\uffdf\017\uffdf\031\uffdf\001" +
-    "\002\000\060\020\uffbf\021\uffbf\023\uffbf\024\uffbf\025\uffbf" +
-    "\026\uffbf\027\uffbf\030\uffbf\031\uffbf\032\uffbf\034\uffbf\035" +
-    "\uffbf\036\uffbf\037\uffbf\040\uffbf\041\uffbf\042\uffbf\043\uffbf" +
-    "\045\uffbf\046\uffbf\047\uffbf\050\uffbf\051\uffbf\001\002\000" +
-    "\022\013\016\014\076\015\071\022\075\030\064\031\060" +
-    "\033\074\044\067\001\002\000\022\013\016\014\076\015" +
-    "\071\022\075\030\064\031\060\033\074\044\067\001\002" +
+    "\000\246\000\012\002\ufffe\003\ufffe\004\ufffe\005\ufffe\001" +
+    "\002\000\012\002\000\003\011\004\016\005\015\001\002" +
+    "\000\004\002\006\001\002\000\004\002\001\001\002\000" +
+    "\012\002\uffff\003\uffff\004\uffff\005\uffff\001\002\000\012" +
+    "\002\ufffb\003\ufffb\004\ufffb\005\ufffb\001\002\000\006\017" +
+    "\250\026\247\001\002\000\006\013\017\031\021\001\002" +
+    "\000\012\002\ufffd\003\ufffd\004\ufffd\005\ufffd\001\002\000" +
+    "\012\002\ufffc\003\ufffc\004\ufffc\005\ufffc\001\002\000\006" +
+    "\013\uffe6\031\uffe6\001\002\000\006\013\uffe5\031\uffe5\001" +
+    "\002\000\062\020\uffb4\021\uffb4\022\uffb4\023\uffb4\024\uffb4" +
+    "\025\uffb4\026\uffb4\027\uffb4\030\uffb4\031\uffb4\032\uffb4\034" +
+    "\uffb4\035\uffb4\036\uffb4\037\uffb4\040\uffb4\041\uffb4\042\uffb4" +
+    "\043\uffb4\045\uffb4\046\uffb4\047\uffb4\050\uffb4\051\uffb4\001" +
+    "\002\000\006\013\017\031\040\001\002\000\006\013\ufff1" +
+    "\031\ufff1\001\002\000\010\020\023\022\026\026\024\001" +
+    "\002\000\004\014\240\001\002\000\030\002\ufff6\003\ufff6" +
+    "\004\ufff6\005\ufff6\006\ufff6\010\ufff6\011\ufff6\012\ufff6\013" +
+    "\ufff6\017\ufff6\031\ufff6\001\002\000\006\016\043\026\042" +
+    "\001\002\000\010\004\016\005\015\023\027\001\002\000" +
+    "\006\016\uffec\026\uffec\001\002\000\006\013\017\031\021" +
+    "\001\002\000\006\023\034\024\033\001\002\000\006\023" +
+    "\uffea\024\uffea\001\002\000\006\004\016\005\015\001\002" +
+    "\000\006\016\uffeb\026\uffeb\001\002\000\006\023\uffe9\024" +
+    "\uffe9\001\002\000\006\013\017\031\040\001\002\000\006" +
+    "\023\uffe8\024\uffe8\001\002\000\006\013\ufff2\031\ufff2\001" +
+    "\002\000\006\023\uffe7\024\uffe7\001\002\000\012\002\uffee" +
+    "\003\uffee\004\uffee\005\uffee\001\002\000\026\003\ufff7\004" +
+    "\ufff7\005\ufff7\006\ufff7\010\ufff7\011\ufff7\012\ufff7\013\ufff7" +
+    "\017\ufff7\031\ufff7\001\002\000\012\002\ufff0\003\ufff0\004" +
+    "\ufff0\005\ufff0\001\002\000\026\003\uffe2\004\016\005\015" +
+    "\006\uffe2\010\uffe2\011\uffe2\012\uffe2\013\uffe2\017\uffe2\031" +
+    "\uffe2\001\002\000\006\013\017\031\021\001\002\000\026" +
+    "\003\ufff8\004\ufff8\005\ufff8\006\ufff8\010\ufff8\011\ufff8\012" +
+    "\ufff8\013\ufff8\017\ufff8\031\ufff8\001\002\000\022\003\057" +
+    "\006\056\010\051\011\053\012\063\013\017\017\061\031" +
+    "\062\001\002\000\004\022\221\001\002\000\062\020\uffb7" +
+    "\021\uffb7\022\212\023\uffb7\024\uffb7\025\uffb7\026\uffb7\027" +
+    "\uffb7\030\uffb7\031\uffb7\032\uffb7\034\uffb7\035\uffb7\036\uffb7" +
+    "\037\uffb7\040\uffb7\041\uffb7\042\uffb7\043\uffb7\045\uffb7\046" +
+    "\uffb7\047\uffb7\050\uffb7\051\uffb7\001\002\000\004\022\175" +
+    "\001\002\000\022\003\uffe3\006\uffe3\010\uffe3\011\uffe3\012" +
+    "\uffe3\013\uffe3\017\uffe3\031\uffe3\001\002\000\016\020\136" +
+    "\025\167\045\163\046\164\047\165\050\166\001\002\000" +
+    "\004\022\147\001\002\000\004\026\146\001\002\000\004" +
+    "\026\145\001\002\000\012\002\uffe4\003\uffe4\004\uffe4\005" +
+    "\uffe4\001\002\000\022\013\017\014\077\015\075\022\100" +
+    "\030\066\031\062\033\076\044\071\001\002\000\024\013" +
+    "\017\014\077\015\075\022\100\026\074\030\066\031\062" +
+    "\033\076\044\071\001\002\000\004\026\065\001\002\000" +
+    "\022\003\uffda\006\uffda\010\uffda\011\uffda\012\uffda\013\uffda" +
+    "\017\uffda\031\uffda\001\002\000\022\013\017\014\077\015" +
+    "\075\022\100\030\066\031\062\033\076\044\071\001\002" +
     "\000\060\020\uffc2\021\uffc2\023\uffc2\024\uffc2\025\uffc2\026" +
     "\uffc2\027\uffc2\030\uffc2\031\uffc2\032\uffc2\034\uffc2\035\uffc2" +
     "\036\uffc2\037\uffc2\040\uffc2\041\uffc2\042\uffc2\043\uffc2\045" +
     "\uffc2\046\uffc2\047\uffc2\050\uffc2\051\uffc2\001\002\000\036" +
-    "\023\112\027\110\030\100\031\113\032\102\034\101\035" +
-    "\115\036\114\037\103\040\111\041\107\042\105\043\106" +
-    "\051\104\001\002\000\022\013\016\014\076\015\071\022" +
-    "\075\030\064\031\060\033\074\044\067\001\002\000\022" +
-    "\013\016\014\076\015\071\022\075\030\064\031\060\033" +
-    "\074\044\067\001\002\000\022\013\016\014\076\015\071" +
-    "\022\075\030\064\031\060\033\074\044\067\001\002\000" +
-    "\022\013\016\014\076\015\071\022\075\030\064\031\060" +
-    "\033\074\044\067\001\002\000\022\013\016\014\076\015" +
-    "\071\022\075\030\064\031\060\033\074\044\067\001\002" +
-    "\000\022\013\016\014\076\015\071\022\075\030\064\031" +
-    "\060\033\074\044\067\001\002\000\022\013\016\014\076" +
-    "\015\071\022\075\030\064\031\060\033\074\044\067\001" +
-    "\002\000\022\013\016\014\076\015\071\022\075\030\064" +
-    "\031\060\033\074\044\067\001\002\000\022\013\016\014" +
-    "\076\015\071\022\075\030\064\031\060\033\074\044\067" +
-    "\001\002\000\022\013\016\014\076\015\071\022\075\030" +
-    "\064\031\060\033\074\044\067\001\002\000\060\020\uffc0" +
-    "\021\uffc0\023\uffc0\024\uffc0\025\uffc0\026\uffc0\027\uffc0\030" +
-    "\uffc0\031\uffc0\032\uffc0\034\uffc0\035\uffc0\036\uffc0\037\uffc0" +
-    "\040\uffc0\041\uffc0\042\uffc0\043\uffc0\045\uffc0\046\uffc0\047" +
-    "\uffc0\050\uffc0\051\uffc0\001\002\000\022\013\016\014\076" +
-    "\015\071\022\075\030\064\031\060\033\074\044\067\001" +
-    "\002\000\022\013\016\014\076\015\071\022\075\030\064" +
-    "\031\060\033\074\044\067\001\002\000\022\013\016\014" +
-    "\076\015\071\022\075\030\064\031\060\033\074\044\067" +
-    "\001\002\000\060\020\uffcd\021\uffcd\023\uffcd\024\uffcd\025" +
-    "\uffcd\026\uffcd\027\110\030\100\031\113\032\102\034\101" +
-    "\035\uffcd\036\114\037\103\040\111\041\107\042\105\043" +
-    "\106\045\uffcd\046\uffcd\047\uffcd\050\uffcd\051\104\001\002" +
-    "\000\054\020\uffcc\021\uffcc\023\uffcc\024\uffcc\025\uffcc\026" +
-    "\uffcc\027\110\030\100\031\113\032\102\034\uffcc\035\uffcc" +
-    "\040\111\041\107\042\105\043\106\045\uffcc\046\uffcc\047" +
-    "\uffcc\050\uffcc\051\104\001\002\000\060\020\uffd2\021\uffd2" +
-    "\023\uffd2\024\uffd2\025\uffd2\026\uffd2\027\uffd2\030\uffd2\031" +
-    "\uffd2\032\uffd2\034\uffd2\035\uffd2\036\uffd2\037\uffd2\040\uffd2" +
-    "\041\uffd2\042\uffd2\043\uffd2\045\uffd2\046\uffd2\047\uffd2\050" +
-    "\uffd2\051\uffd2\001\002\000\050\020\uffca\021\uffca\023\uffca" +
-    "\024\uffca\025\uffca\026\uffca\027\110\030\100\031\113\032" +
-    "\102\034\uffca\035\uffca\036\uffca\037\uffca\045\uffca\046\uffca" +
-    "\047\uffca\050\uffca\051\104\001\002\000\060\020\uffd4\021" +
-    "\uffd4\023\uffd4\024\uffd4\025\uffd4\026\uffd4\027\uffd4\030\uffd4" +
-    "\031\113\032\102\034\uffd4\035\uffd4\036\uffd4\037\uffd4\040" +
-    "\uffd4\041\uffd4\042\uffd4\043\uffd4\045\uffd4\046\uffd4\047\uffd4" +
-    "\050\uffd4\051\104\001\002\000\050\020\uffc9\021\uffc9\023" +
-    "\uffc9\024\uffc9\025\uffc9\026\uffc9\027\110\030\100\031\113" +
-    "\032\102\034\uffc9\035\uffc9\036\uffc9\037\uffc9\045\uffc9\046" +
-    "\uffc9\047\uffc9\050\uffc9\051\104\001\002\000\050\020\uffc7" +
-    "\021\uffc7\023\uffc7\024\uffc7\025\uffc7\026\uffc7\027\110\030" +
-    "\100\031\113\032\102\034\uffc7\035\uffc7\036\uffc7\037\uffc7" +
-    "\045\uffc7\046\uffc7\047\uffc7\050\uffc7\051\104\001\002\000" +
-    "\050\020\uffc8\021\uffc8\023\uffc8\024\uffc8\025\uffc8\026\uffc8" +
-    "\027\110\030\100\031\113\032\102\034\uffc8\035\uffc8\036" +
-    "\uffc8\037\uffc8\045\uffc8\046\uffc8\047\uffc8\050\uffc8\051\104" +
-    "\001\002\000\060\020\uffd0\021\uffd0\023\uffd0\024\uffd0\025" +
-    "\uffd0\026\uffd0\027\uffd0\030\uffd0\031\uffd0\032\uffd0\034\uffd0" +
-    "\035\uffd0\036\uffd0\037\uffd0\040\uffd0\041\uffd0\042\uffd0\043" +
-    "\uffd0\045\uffd0\046\uffd0\047\uffd0\050\uffd0\051\uffd0\001\002" +
-    "\000\054\020\uffcb\021\uffcb\023\uffcb\024\uffcb\025\uffcb\026" +
-    "\uffcb\027\110\030\100\031\113\032\102\034\uffcb\035\uffcb" +
-    "\040\111\041\107\042\105\043\106\045\uffcb\046\uffcb\047" +
-    "\uffcb\050\uffcb\051\104\001\002\000\060\020\uffd1\021\uffd1" +
-    "\023\uffd1\024\uffd1\025\uffd1\026\uffd1\027\uffd1\030\uffd1\031" +
-    "\uffd1\032\uffd1\034\uffd1\035\uffd1\036\uffd1\037\uffd1\040\uffd1" +
-    "\041\uffd1\042\uffd1\043\uffd1\045\uffd1\046\uffd1\047\uffd1\050" +
-    "\uffd1\051\uffd1\001\002\000\060\020\uffce\021\uffce\023\uffce" +
-    "\024\uffce\025\uffce\026\uffce\027\110\030\100\031\113\032" +
-    "\102\034\uffce\035\uffce\036\114\037\103\040\111\041\107" +
-    "\042\105\043\106\045\uffce\046\uffce\047\uffce\050\uffce\051" +
-    "\104\001\002\000\060\020\uffd3\021\uffd3\023\uffd3\024\uffd3" +
-    "\025\uffd3\026\uffd3\027\uffd3\030\uffd3\031\113\032\102\034" +
-    "\uffd3\035\uffd3\036\uffd3\037\uffd3\040\uffd3\041\uffd3\042\uffd3" +
-    "\043\uffd3\045\uffd3\046\uffd3\047\uffd3\050\uffd3\051\104\001" +
-    "\002\000\060\020\uffcf\021\uffcf\023\uffcf\024\uffcf\025\uffcf" +
-    "\026\uffcf\027\uffcf\030\uffcf\031\uffcf\032\uffcf\034\uffcf\035" +
-    "\uffcf\036\uffcf\037\uffcf\040\uffcf\041\uffcf\042\uffcf\043\uffcf" +
-    "\045\uffcf\046\uffcf\047\uffcf\050\uffcf\051\uffcf\001\002\000" +
-    "\022\013\016\014\076\015\071\022\075\030\064\031\060" +
-    "\033\074\044\067\001\002\000\036\021\136\027\110\030" +
-    "\100\031\113\032\102\034\101\035\115\036\114\037\103" +
-    "\040\111\041\107\042\105\043\106\051\104\001\002\000" +
-    "\060\020\uffb9\021\uffb9\023\uffb9\024\uffb9\025\uffb9\026\uffb9" +
-    "\027\uffb9\030\uffb9\031\uffb9\032\uffb9\034\uffb9\035\uffb9\036" +
-    "\uffb9\037\uffb9\040\uffb9\041\uffb9\042\uffb9\043\uffb9\045\uffb9" +
-    "\046\uffb9\047\uffb9\050\uffb9\051\uffb9\001\002\000\060\020" +
-    "\uffc4\021\uffc4\023\uffc4\024\uffc4\025\uffc4\026\uffc4\027\uffc4" +
-    "\030\uffc4\031\uffc4\032\uffc4\034\uffc4\035\uffc4\036\uffc4\037" +
-    "\uffc4\040\uffc4\041\uffc4\042\uffc4\043\uffc4\045\uffc4\046\uffc4" +
-    "\047\uffc4\050\uffc4\051\uffc4\001\002\000\020\006\uffe0\010" +
-    "\uffe0\011\uffe0\012\uffe0\013\uffe0\017\uffe0\031\uffe0\001\002" +
-    "\000\060\020\uffc6\021\uffc6\023\uffc6\024\uffc6\025\uffc6\026" +
-    "\uffc6\027\uffc6\030\uffc6\031\113\032\102\034\uffc6\035\uffc6" +
-    "\036\uffc6\037\uffc6\040\uffc6\041\uffc6\042\uffc6\043\uffc6\045" +
-    "\uffc6\046\uffc6\047\uffc6\050\uffc6\051\104\001\002\000\060" +
-    "\020\uffb8\021\uffb8\023\uffb8\024\uffb8\025\uffb8\026\uffb8\027" +
-    "\uffb8\030\uffb8\031\uffb8\032\uffb8\034\uffb8\035\uffb8\036\uffb8" +
-    "\037\uffb8\040\uffb8\041\uffb8\042\uffb8\043\uffb8\045\uffb8\046" +
-    "\uffb8\047\uffb8\050\uffb8\051\uffb8\001\002\000\020\006\uffde" +
-    "\010\uffde\011\uffde\012\uffde\013\uffde\017\uffde\031\uffde\001" +
-    "\002\000\022\013\016\014\076\015\071\022\075\030\064" +
-    "\031\060\033\074\044\067\001\002\000\036\023\146\027" +
-    "\110\030\100\031\113\032\102\034\101\035\115\036\114" +
-    "\037\103\040\111\041\107\042\105\043\106\051\104\001" +
-    "\002\000\004\016\147\001\002\000\024\004\ufff9\005\ufff9" +
-    "\006\ufff9\010\ufff9\011\ufff9\012\ufff9\013\ufff9\017\ufff9\031" +
-    "\ufff9\001\002\000\024\004\015\005\014\006\uffe4\010\uffe4" +
-    "\011\uffe4\012\uffe4\013\uffe4\017\uffe4\031\uffe4\001\002\000" +
-    "\020\006\055\010\050\011\052\012\061\013\016\017\152" +
-    "\031\060\001\002\000\022\006\uffe3\007\153\010\uffe3\011" +
-    "\uffe3\012\uffe3\013\uffe3\017\uffe3\031\uffe3\001\002\000\004" +
-    "\016\154\001\002\000\024\004\ufff9\005\ufff9\006\ufff9\010" +
-    "\ufff9\011\ufff9\012\ufff9\013\ufff9\017\ufff9\031\ufff9\001\002" +
-    "\000\024\004\015\005\014\006\uffe4\010\uffe4\011\uffe4\012" +
-    "\uffe4\013\uffe4\017\uffe4\031\uffe4\001\002\000\020\006\055" +
-    "\010\050\011\052\012\061\013\016\017\157\031\060\001" +
-    "\002\000\020\006\uffe2\010\uffe2\011\uffe2\012\uffe2\013\uffe2" +
-    "\017\uffe2\031\uffe2\001\002\000\022\013\016\014\076\015" +
-    "\071\022\075\030\064\031\060\033\074\044\067\001\002" +
-    "\000\022\013\016\014\076\015\071\022\075\030\064\031" +
-    "\060\033\074\044\067\001\002\000\022\013\016\014\076" +
-    "\015\071\022\075\030\064\031\060\033\074\044\067\001" +
-    "\002\000\022\013\016\014\076\015\071\022\075\030\064" +
-    "\031\060\033\074\044\067\001\002\000\022\013\016\014" +
-    "\076\015\071\022\075\030\064\031\060\033\074\044\067" +
-    "\001\002\000\040\023\uffdb\026\uffdb\027\110\030\100\031" +
-    "\113\032\102\034\101\035\115\036\114\037\103\040\111" +
-    "\041\107\042\105\043\106\051\104\001\002\000\040\023" +
-    "\uffd7\026\uffd7\027\110\030\100\031\113\032\102\034\101" +
-    "\035\115\036\114\037\103\040\111\041\107\042\105\043" +
-    "\106\051\104\001\002\000\040\023\uffd8\026\uffd8\027\110" +
-    "\030\100\031\113\032\102\034\101\035\115\036\114\037" +
-    "\103\040\111\041\107\042\105\043\106\051\104\001\002" +
-    "\000\040\023\uffd9\026\uffd9\027\110\030\100\031\113\032" +
-    "\102\034\101\035\115\036\114\037\103\040\111\041\107" +
-    "\042\105\043\106\051\104\001\002\000\040\023\uffda\026" +
-    "\uffda\027\110\030\100\031\113\032\102\034\101\035\115" +
-    "\036\114\037\103\040\111\041\107\042\105\043\106\051" +
-    "\104\001\002\000\010\013\016\026\uffd5\031\060\001\002" +
-    "\000\006\023\uffd6\026\uffd6\001\002\000\004\026\176\001" +
-    "\002\000\016\020\uffba\025\uffba\045\uffba\046\uffba\047\uffba" +
-    "\050\uffba\001\002\000\022\013\016\014\076\015\071\022" +
-    "\075\030\064\031\060\033\074\044\067\001\002\000\036" +
-    "\026\200\027\110\030\100\031\113\032\102\034\101\035" +
-    "\115\036\114\037\103\040\111\041\107\042\105\043\106" +
-    "\051\104\001\002\000\010\013\016\023\uffd5\031\060\001" +
-    "\002\000\004\023\202\001\002\000\004\016\203\001\002" +
-    "\000\024\004\ufff9\005\ufff9\006\ufff9\010\ufff9\011\ufff9\012" +
-    "\ufff9\013\ufff9\017\ufff9\031\ufff9\001\002\000\024\004\015" +
-    "\005\014\006\uffe4\010\uffe4\011\uffe4\012\uffe4\013\uffe4\017" +
-    "\uffe4\031\uffe4\001\002\000\020\006\055\010\050\011\052" +
-    "\012\061\013\016\017\206\031\060\001\002\000\020\006" +
-    "\uffdd\010\uffdd\011\uffdd\012\uffdd\013\uffdd\017\uffdd\031\uffdd" +
-    "\001\002\000\024\013\016\014\076\015\071\022\075\023" +
-    "\212\030\064\031\060\033\074\044\067\001\002\000\040" +
-    "\023\uffbc\024\uffbc\027\110\030\100\031\113\032\102\034" +
-    "\101\035\115\036\114\037\103\040\111\041\107\042\105" +
-    "\043\106\051\104\001\002\000\006\023\214\024\213\001" +
+    "\026\142\027\112\030\102\031\115\032\104\034\103\035" +
+    "\117\036\116\037\105\040\113\041\111\042\107\043\110" +
+    "\051\106\001\002\000\022\013\017\014\077\015\075\022" +
+    "\100\030\066\031\062\033\076\044\071\001\002\000\060" +
+    "\020\136\021\uffc0\023\uffc0\024\uffc0\025\uffc0\026\uffc0\027" +
+    "\uffc0\030\uffc0\031\uffc0\032\uffc0\034\uffc0\035\uffc0\036\uffc0" +
+    "\037\uffc0\040\uffc0\041\uffc0\042\uffc0\043\uffc0\045\uffc0\046" +
+    "\uffc0\047\uffc0\050\uffc0\051\uffc0\001\002\000\060\020\uffbc" +
+    "\021\uffbc\023\uffbc\024\uffbc\025\uffbc\026\uffbc\027\uffbc\030" +
+    "\uffbc\031\uffbc\032\uffbc\034\uffbc\035\uffbc\036\uffbc\037\uffbc" +
+    "\040\uffbc\041\uffbc\042\uffbc\043\uffbc\045\uffbc\046\uffbc\047" +
+    "\uffbc\050\uffbc\051\uffbc\001\002\000\022\003\uffdd\006\uffdd" +
+    "\010\uffdd\011\uffdd\012\uffdd\013\uffdd\017\uffdd\031\uffdd\001" +
     "\002\000\060\020\uffbe\021\uffbe\023\uffbe\024\uffbe\025\uffbe" +
     "\026\uffbe\027\uffbe\030\uffbe\031\uffbe\032\uffbe\034\uffbe\035" +
     "\uffbe\036\uffbe\037\uffbe\040\uffbe\041\uffbe\042\uffbe\043\uffbe" +
     "\045\uffbe\046\uffbe\047\uffbe\050\uffbe\051\uffbe\001\002\000" +
-    "\022\013\016\014\076\015\071\022\075\030\064\031\060" +
-    "\033\074\044\067\001\002\000\060\020\uffbd\021\uffbd\023" +
-    "\uffbd\024\uffbd\025\uffbd\026\uffbd\027\uffbd\030\uffbd\031\uffbd" +
-    "\032\uffbd\034\uffbd\035\uffbd\036\uffbd\037\uffbd\040\uffbd\041" +
-    "\uffbd\042\uffbd\043\uffbd\045\uffbd\046\uffbd\047\uffbd\050\uffbd" +
-    "\051\uffbd\001\002\000\040\023\uffbb\024\uffbb\027\110\030" +
-    "\100\031\113\032\102\034\101\035\115\036\114\037\103" +
-    "\040\111\041\107\042\105\043\106\051\104\001\002\000" +
-    "\022\013\016\014\076\015\071\022\075\030\064\031\060" +
-    "\033\074\044\067\001\002\000\036\023\220\027\110\030" +
-    "\100\031\113\032\102\034\101\035\115\036\114\037\103" +
-    "\040\111\041\107\042\105\043\106\051\104\001\002\000" +
-    "\004\016\221\001\002\000\024\004\ufff9\005\ufff9\006\ufff9" +
-    "\010\ufff9\011\ufff9\012\ufff9\013\ufff9\017\ufff9\031\ufff9\001" +
-    "\002\000\024\004\015\005\014\006\uffe4\010\uffe4\011\uffe4" +
-    "\012\uffe4\013\uffe4\017\uffe4\031\uffe4\001\002\000\020\006" +
-    "\055\010\050\011\052\012\061\013\016\017\224\031\060" +
-    "\001\002\000\020\006\uffe1\010\uffe1\011\uffe1\012\uffe1\013" +
-    "\uffe1\017\uffe1\031\uffe1\001\002\000\006\013\016\031\037" +
-    "\001\002\000\006\020\022\026\023\001\002\000\006\020" +
-    "\230\026\231\001\002\000\004\014\232\001\002\000\026" +
-    "\002\ufff5\004\ufff5\005\ufff5\006\ufff5\010\ufff5\011\ufff5\012" +
-    "\ufff5\013\ufff5\017\ufff5\031\ufff5\001\002\000\004\021\233" +
-    "\001\002\000\004\026\234\001\002\000\026\002\ufff6\004" +
-    "\ufff6\005\ufff6\006\ufff6\010\ufff6\011\ufff6\012\ufff6\013\ufff6" +
-    "\017\ufff6\031\ufff6\001\002\000\004\021\236\001\002\000" +
-    "\004\026\237\001\002\000\026\002\ufff7\004\ufff7\005\ufff7" +
+    "\022\013\017\014\077\015\075\022\100\030\066\031\062" +
+    "\033\076\044\071\001\002\000\060\020\uffbf\021\uffbf\023" +
+    "\uffbf\024\uffbf\025\uffbf\026\uffbf\027\uffbf\030\uffbf\031\uffbf" +
+    "\032\uffbf\034\uffbf\035\uffbf\036\uffbf\037\uffbf\040\uffbf\041" +
+    "\uffbf\042\uffbf\043\uffbf\045\uffbf\046\uffbf\047\uffbf\050\uffbf" +
+    "\051\uffbf\001\002\000\022\013\017\014\077\015\075\022" +
+    "\100\030\066\031\062\033\076\044\071\001\002\000\036" +
+    "\023\114\027\112\030\102\031\115\032\104\034\103\035" +
+    "\117\036\116\037\105\040\113\041\111\042\107\043\110" +
+    "\051\106\001\002\000\022\013\017\014\077\015\075\022" +
+    "\100\030\066\031\062\033\076\044\071\001\002\000\022" +
+    "\013\017\014\077\015\075\022\100\030\066\031\062\033" +
+    "\076\044\071\001\002\000\022\013\017\014\077\015\075" +
+    "\022\100\030\066\031\062\033\076\044\071\001\002\000" +
+    "\022\013\017\014\077\015\075\022\100\030\066\031\062" +
+    "\033\076\044\071\001\002\000\022\013\017\014\077\015" +
+    "\075\022\100\030\066\031\062\033\076\044\071\001\002" +
+    "\000\022\013\017\014\077\015\075\022\100\030\066\031" +
+    "\062\033\076\044\071\001\002\000\022\013\017\014\077" +
+    "\015\075\022\100\030\066\031\062\033\076\044\071\001" +
+    "\002\000\022\013\017\014\077\015\075\022\100\030\066" +
+    "\031\062\033\076\044\071\001\002\000\022\013\017\014" +
+    "\077\015\075\022\100\030\066\031\062\033\076\044\071" +
+    "\001\002\000\022\013\017\014\077\015\075\022\100\030" +
+    "\066\031\062\033\076\044\071\001\002\000\060\020\uffbd" +
+    "\021\uffbd\023\uffbd\024\uffbd\025\uffbd\026\uffbd\027\uffbd\030" +
+    "\uffbd\031\uffbd\032\uffbd\034\uffbd\035\uffbd\036\uffbd\037\uffbd" +
+    "\040\uffbd\041\uffbd\042\uffbd\043\uffbd\045\uffbd\046\uffbd\047" +
+    "\uffbd\050\uffbd\051\uffbd\001\002\000\022\013\017\014\077" +
+    "\015\075\022\100\030\066\031\062\033\076\044\071\001" +
+    "\002\000\022\013\017\014\077\015\075\022\100\030\066" +
+    "\031\062\033\076\044\071\001\002\000\022\013\017\014" +
+    "\077\015\075\022\100\030\066\031\062\033\076\044\071" +
+    "\001\002\000\060\020\uffca\021\uffca\023\uffca\024\uffca\025" +
+    "\uffca\026\uffca\027\112\030\102\031\115\032\104\034\103" +
+    "\035\uffca\036\116\037\105\040\113\041\111\042\107\043" +
+    "\110\045\uffca\046\uffca\047\uffca\050\uffca\051\106\001\002" +
+    "\000\054\020\uffc9\021\uffc9\023\uffc9\024\uffc9\025\uffc9\026" +
+    "\uffc9\027\112\030\102\031\115\032\104\034\uffc9\035\uffc9" +
+    "\040\113\041\111\042\107\043\110\045\uffc9\046\uffc9\047" +
+    "\uffc9\050\uffc9\051\106\001\002\000\060\020\uffcf\021\uffcf" +
+    "\023\uffcf\024\uffcf\025\uffcf\026\uffcf\027\uffcf\030\uffcf\031" +
+    "\uffcf\032\uffcf\034\uffcf\035\uffcf\036\uffcf\037\uffcf\040\uffcf" +
+    "\041\uffcf\042\uffcf\043\uffcf\045\uffcf\046\uffcf\047\uffcf\050" +
+    "\uffcf\051\uffcf\001\002\000\050\020\uffc7\021\uffc7\023\uffc7" +
+    "\024\uffc7\025\uffc7\026\uffc7\027\112\030\102\031\115\032" +
+    "\104\034\uffc7\035\uffc7\036\uffc7\037\uffc7\045\uffc7\046\uffc7" +
+    "\047\uffc7\050\uffc7\051\106\001\002\000\060\020\uffd1\021" +
+    "\uffd1\023\uffd1\024\uffd1\025\uffd1\026\uffd1\027\uffd1\030\uffd1" +
+    "\031\115\032\104\034\uffd1\035\uffd1\036\uffd1\037\uffd1\040" +
+    "\uffd1\041\uffd1\042\uffd1\043\uffd1\045\uffd1\046\uffd1\047\uffd1" +
+    "\050\uffd1\051\106\001\002\000\050\020\uffc6\021\uffc6\023" +
+    "\uffc6\024\uffc6\025\uffc6\026\uffc6\027\112\030\102\031\115" +
+    "\032\104\034\uffc6\035\uffc6\036\uffc6\037\uffc6\045\uffc6\046" +
+    "\uffc6\047\uffc6\050\uffc6\051\106\001\002\000\050\020\uffc4" +
+    "\021\uffc4\023\uffc4\024\uffc4\025\uffc4\026\uffc4\027\112\030" +
+    "\102\031\115\032\104\034\uffc4\035\uffc4\036\uffc4\037\uffc4" +
+    "\045\uffc4\046\uffc4\047\uffc4\050\uffc4\051\106\001\002\000" +
+    "\050\020\uffc5\021\uffc5\023\uffc5\024\uffc5\025\uffc5\026\uffc5" +
+    "\027\112\030\102\031\115\032\104\034\uffc5\035\uffc5\036" +
+    "\uffc5\037\uffc5\045\uffc5\046\uffc5\047\uffc5\050\uffc5\051\106" +
+    "\001\002\000\060\020\uffcd\021\uffcd\023\uffcd\024\uffcd\025" +
+    "\uffcd\026\uffcd\027\uffcd\030\uffcd\031\uffcd\032\uffcd\034\uffcd" +
+    "\035\uffcd\036\uffcd\037\uffcd\040\uffcd\041\uffcd\042\uffcd\043" +
+    "\uffcd\045\uffcd\046\uffcd\047\uffcd\050\uffcd\051\uffcd\001\002" +
+    "\000\054\020\uffc8\021\uffc8\023\uffc8\024\uffc8\025\uffc8\026" +
+    "\uffc8\027\112\030\102\031\115\032\104\034\uffc8\035\uffc8" +
+    "\040\113\041\111\042\107\043\110\045\uffc8\046\uffc8\047" +
+    "\uffc8\050\uffc8\051\106\001\002\000\060\020\uffce\021\uffce" +
+    "\023\uffce\024\uffce\025\uffce\026\uffce\027\uffce\030\uffce\031" +
+    "\uffce\032\uffce\034\uffce\035\uffce\036\uffce\037\uffce\040\uffce" +
+    "\041\uffce\042\uffce\043\uffce\045\uffce\046\uffce\047\uffce\050" +
+    "\uffce\051\uffce\001\002\000\060\020\uffcb\021\uffcb\023\uffcb" +
+    "\024\uffcb\025\uffcb\026\uffcb\027\112\030\102\031\115\032" +
+    "\104\034\uffcb\035\uffcb\036\116\037\105\040\113\041\111" +
+    "\042\107\043\110\045\uffcb\046\uffcb\047\uffcb\050\uffcb\051" +
+    "\106\001\002\000\060\020\uffd0\021\uffd0\023\uffd0\024\uffd0" +
+    "\025\uffd0\026\uffd0\027\uffd0\030\uffd0\031\115\032\104\034" +
+    "\uffd0\035\uffd0\036\uffd0\037\uffd0\040\uffd0\041\uffd0\042\uffd0" +
+    "\043\uffd0\045\uffd0\046\uffd0\047\uffd0\050\uffd0\051\106\001" +
+    "\002\000\060\020\uffcc\021\uffcc\023\uffcc\024\uffcc\025\uffcc" +
+    "\026\uffcc\027\uffcc\030\uffcc\031\uffcc\032\uffcc\034\uffcc\035" +
+    "\uffcc\036\uffcc\037\uffcc\040\uffcc\041\uffcc\042\uffcc\043\uffcc" +
+    "\045\uffcc\046\uffcc\047\uffcc\050\uffcc\051\uffcc\001\002\000" +
+    "\022\013\017\014\077\015\075\022\100\030\066\031\062" +
+    "\033\076\044\071\001\002\000\036\021\140\027\112\030" +
+    "\102\031\115\032\104\034\103\035\117\036\116\037\105" +
+    "\040\113\041\111\042\107\043\110\051\106\001\002\000" +
+    "\060\020\uffb6\021\uffb6\023\uffb6\024\uffb6\025\uffb6\026\uffb6" +
+    "\027\uffb6\030\uffb6\031\uffb6\032\uffb6\034\uffb6\035\uffb6\036" +
+    "\uffb6\037\uffb6\040\uffb6\041\uffb6\042\uffb6\043\uffb6\045\uffb6" +
+    "\046\uffb6\047\uffb6\050\uffb6\051\uffb6\001\002\000\060\020" +
+    "\uffc1\021\uffc1\023\uffc1\024\uffc1\025\uffc1\026\uffc1\027\uffc1" +
+    "\030\uffc1\031\uffc1\032\uffc1\034\uffc1\035\uffc1\036\uffc1\037" +
+    "\uffc1\040\uffc1\041\uffc1\042\uffc1\043\uffc1\045\uffc1\046\uffc1" +
+    "\047\uffc1\050\uffc1\051\uffc1\001\002\000\022\003\uffde\006" +
+    "\uffde\010\uffde\011\uffde\012\uffde\013\uffde\017\uffde\031\uffde" +
+    "\001\002\000\060\020\uffc3\021\uffc3\023\uffc3\024\uffc3\025" +
+    "\uffc3\026\uffc3\027\uffc3\030\uffc3\031\115\032\104\034\uffc3" +
+    "\035\uffc3\036\uffc3\037\uffc3\040\uffc3\041\uffc3\042\uffc3\043" +
+    "\uffc3\045\uffc3\046\uffc3\047\uffc3\050\uffc3\051\106\001\002" +
+    "\000\060\020\uffb5\021\uffb5\023\uffb5\024\uffb5\025\uffb5\026" +
+    "\uffb5\027\uffb5\030\uffb5\031\uffb5\032\uffb5\034\uffb5\035\uffb5" +
+    "\036\uffb5\037\uffb5\040\uffb5\041\uffb5\042\uffb5\043\uffb5\045" +
+    "\uffb5\046\uffb5\047\uffb5\050\uffb5\051\uffb5\001\002\000\022" +
+    "\003\uffdc\006\uffdc\010\uffdc\011\uffdc\012\uffdc\013\uffdc\017" +
+    "\uffdc\031\uffdc\001\002\000\022\003\uffd9\006\uffd9\010\uffd9" +
+    "\011\uffd9\012\uffd9\013\uffd9\017\uffd9\031\uffd9\001\002\000" +
+    "\022\013\017\014\077\015\075\022\100\030\066\031\062" +
+    "\033\076\044\071\001\002\000\036\023\151\027\112\030" +
+    "\102\031\115\032\104\034\103\035\117\036\116\037\105" +
+    "\040\113\041\111\042\107\043\110\051\106\001\002\000" +
+    "\004\016\152\001\002\000\026\003\ufff7\004\ufff7\005\ufff7" +
     "\006\ufff7\010\ufff7\011\ufff7\012\ufff7\013\ufff7\017\ufff7\031" +
-    "\ufff7\001\002\000\010\020\230\022\025\026\231\001\002" +
-    "\000\006\016\042\026\242\001\002\000\010\002\uffef\004" +
-    "\uffef\005\uffef\001\002\000\010\002\ufff1\004\ufff1\005\ufff1" +
-    "\001\002" });
+    "\ufff7\001\002\000\026\003\uffe2\004\016\005\015\006\uffe2" +
+    "\010\uffe2\011\uffe2\012\uffe2\013\uffe2\017\uffe2\031\uffe2\001" +
+    "\002\000\022\003\057\006\056\010\051\011\053\012\063" +
+    "\013\017\017\155\031\062\001\002\000\024\003\uffe1\006" +
+    "\uffe1\007\156\010\uffe1\011\uffe1\012\uffe1\013\uffe1\017\uffe1" +
+    "\031\uffe1\001\002\000\004\016\157\001\002\000\026\003" +
+    "\ufff7\004\ufff7\005\ufff7\006\ufff7\010\ufff7\011\ufff7\012\ufff7" +
+    "\013\ufff7\017\ufff7\031\ufff7\001\002\000\026\003\uffe2\004" +
+    "\016\005\015\006\uffe2\010\uffe2\011\uffe2\012\uffe2\013\uffe2" +
+    "\017\uffe2\031\uffe2\001\002\000\022\003\057\006\056\010" +
+    "\051\011\053\012\063\013\017\017\162\031\062\001\002" +
+    "\000\022\003\uffe0\006\uffe0\010\uffe0\011\uffe0\012\uffe0\013" +
+    "\uffe0\017\uffe0\031\uffe0\001\002\000\022\013\017\014\077" +
+    "\015\075\022\100\030\066\031\062\033\076\044\071\001" +
+    "\002\000\022\013\017\014\077\015\075\022\100\030\066" +
+    "\031\062\033\076\044\071\001\002\000\022\013\017\014" +
+    "\077\015\075\022\100\030\066\031\062\033\076\044\071" +
+    "\001\002\000\022\013\017\014\077\015\075\022\100\030" +
+    "\066\031\062\033\076\044\071\001\002\000\022\013\017" +
+    "\014\077\015\075\022\100\030\066\031\062\033\076\044" +
+    "\071\001\002\000\040\023\uffd8\026\uffd8\027\112\030\102" +
+    "\031\115\032\104\034\103\035\117\036\116\037\105\040" +
+    "\113\041\111\042\107\043\110\051\106\001\002\000\040" +
+    "\023\uffd4\026\uffd4\027\112\030\102\031\115\032\104\034" +
+    "\103\035\117\036\116\037\105\040\113\041\111\042\107" +
+    "\043\110\051\106\001\002\000\040\023\uffd5\026\uffd5\027" +
+    "\112\030\102\031\115\032\104\034\103\035\117\036\116" +
+    "\037\105\040\113\041\111\042\107\043\110\051\106\001" +
+    "\002\000\040\023\uffd6\026\uffd6\027\112\030\102\031\115" +
+    "\032\104\034\103\035\117\036\116\037\105\040\113\041" +
+    "\111\042\107\043\110\051\106\001\002\000\040\023\uffd7" +
+    "\026\uffd7\027\112\030\102\031\115\032\104\034\103\035" +
+    "\117\036\116\037\105\040\113\041\111\042\107\043\110" +
+    "\051\106\001\002\000\010\013\017\026\uffd2\031\062\001" +
+    "\002\000\006\023\uffd3\026\uffd3\001\002\000\004\026\201" +
+    "\001\002\000\016\020\uffb7\025\uffb7\045\uffb7\046\uffb7\047" +
+    "\uffb7\050\uffb7\001\002\000\022\013\017\014\077\015\075" +
+    "\022\100\030\066\031\062\033\076\044\071\001\002\000" +
+    "\036\026\203\027\112\030\102\031\115\032\104\034\103" +
+    "\035\117\036\116\037\105\040\113\041\111\042\107\043" +
+    "\110\051\106\001\002\000\010\013\017\023\uffd2\031\062" +
+    "\001\002\000\004\023\205\001\002\000\004\016\206\001" +
+    "\002\000\026\003\ufff7\004\ufff7\005\ufff7\006\ufff7\010\ufff7" +
+    "\011\ufff7\012\ufff7\013\ufff7\017\ufff7\031\ufff7\001\002\000" +
+    "\026\003\uffe2\004\016\005\015\006\uffe2\010\uffe2\011\uffe2" +
+    "\012\uffe2\013\uffe2\017\uffe2\031\uffe2\001\002\000\022\003" +
+    "\057\006\056\010\051\011\053\012\063\013\017\017\211" +
+    "\031\062\001\002\000\022\003\uffdb\006\uffdb\010\uffdb\011" +
+    "\uffdb\012\uffdb\013\uffdb\017\uffdb\031\uffdb\001\002\000\024" +
+    "\013\017\014\077\015\075\022\100\023\215\030\066\031" +
+    "\062\033\076\044\071\001\002\000\040\023\uffb9\024\uffb9" +
+    "\027\112\030\102\031\115\032\104\034\103\035\117\036" +
+    "\116\037\105\040\113\041\111\042\107\043\110\051\106" +
+    "\001\002\000\006\023\217\024\216\001\002\000\060\020" +
+    "\uffbb\021\uffbb\023\uffbb\024\uffbb\025\uffbb\026\uffbb\027\uffbb" +
+    "\030\uffbb\031\uffbb\032\uffbb\034\uffbb\035\uffbb\036\uffbb\037" +
+    "\uffbb\040\uffbb\041\uffbb\042\uffbb\043\uffbb\045\uffbb\046\uffbb" +
+    "\047\uffbb\050\uffbb\051\uffbb\001\002\000\022\013\017\014" +
+    "\077\015\075\022\100\030\066\031\062\033\076\044\071" +
+    "\001\002\000\060\020\uffba\021\uffba\023\uffba\024\uffba\025" +
+    "\uffba\026\uffba\027\uffba\030\uffba\031\uffba\032\uffba\034\uffba" +
+    "\035\uffba\036\uffba\037\uffba\040\uffba\041\uffba\042\uffba\043" +
+    "\uffba\045\uffba\046\uffba\047\uffba\050\uffba\051\uffba\001\002" +
+    "\000\040\023\uffb8\024\uffb8\027\112\030\102\031\115\032" +
+    "\104\034\103\035\117\036\116\037\105\040\113\041\111" +
+    "\042\107\043\110\051\106\001\002\000\022\013\017\014" +
+    "\077\015\075\022\100\030\066\031\062\033\076\044\071" +
+    "\001\002\000\036\023\223\027\112\030\102\031\115\032" +
+    "\104\034\103\035\117\036\116\037\105\040\113\041\111" +
+    "\042\107\043\110\051\106\001\002\000\004\016\224\001" +
+    "\002\000\026\003\ufff7\004\ufff7\005\ufff7\006\ufff7\010\ufff7" +
+    "\011\ufff7\012\ufff7\013\ufff7\017\ufff7\031\ufff7\001\002\000" +
+    "\026\003\uffe2\004\016\005\015\006\uffe2\010\uffe2\011\uffe2" +
+    "\012\uffe2\013\uffe2\017\uffe2\031\uffe2\001\002\000\022\003" +
+    "\057\006\056\010\051\011\053\012\063\013\017\017\227" +
+    "\031\062\001\002\000\022\003\uffdf\006\uffdf\010\uffdf\011" +
+    "\uffdf\012\uffdf\013\uffdf\017\uffdf\031\uffdf\001\002\000\006" +
+    "\013\017\031\040\001\002\000\006\020\023\026\024\001" +
+    "\002\000\006\020\233\026\234\001\002\000\004\014\235" +
+    "\001\002\000\030\002\ufff3\003\ufff3\004\ufff3\005\ufff3\006" +
+    "\ufff3\010\ufff3\011\ufff3\012\ufff3\013\ufff3\017\ufff3\031\ufff3" +
+    "\001\002\000\004\021\236\001\002\000\004\026\237\001" +
+    "\002\000\030\002\ufff4\003\ufff4\004\ufff4\005\ufff4\006\ufff4" +
+    "\010\ufff4\011\ufff4\012\ufff4\013\ufff4\017\ufff4\031\ufff4\001" +
+    "\002\000\004\021\241\001\002\000\004\026\242\001\002" +
+    "\000\030\002\ufff5\003\ufff5\004\ufff5\005\ufff5\006\ufff5\010" +
+    "\ufff5\011\ufff5\012\ufff5\013\ufff5\017\ufff5\031\ufff5\001\002" +
+    "\000\010\020\233\022\026\026\234\001\002\000\006\016" +
+    "\043\026\245\001\002\000\012\002\uffed\003\uffed\004\uffed" +
+    "\005\uffed\001\002\000\012\002\uffef\003\uffef\004\uffef\005" +
+    "\uffef\001\002\000\012\002\ufffa\003\ufffa\004\ufffa\005\ufffa" +
+    "\001\002\000\012\002\ufff9\003\ufff9\004\ufff9\005\ufff9\001" +
+    "\002" });
 
   /** Access to parse-action table. */
   public short[][] action_table() {return _action_table;}
@@ -328,92 +340,93 @@ public class parser extends java_cup.runtime.lr_parser {
   /** <code>reduce_goto</code> table. */
   protected static final short[][] _reduce_table = 
     unpackFromStrings(new String[] {
-    "\000\241\000\006\003\004\004\003\001\001\000\014\005" +
-    "\006\007\011\010\012\011\007\024\010\001\001\000\002" +
+    "\000\246\000\006\003\004\004\003\001\001\000\014\005" +
+    "\006\007\012\010\013\011\007\024\011\001\001\000\002" +
     "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
-    "\001\000\006\026\020\027\016\001\001\000\002\001\001" +
-    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\002\001\001\000\004\026\237\001\001\000\002\001\001" +
-    "\000\004\012\023\001\001\000\002\001\001\000\002\001" +
-    "\001\000\004\015\042\001\001\000\010\013\027\014\030" +
-    "\024\026\001\001\000\002\001\001\000\006\026\035\027" +
-    "\034\001\001\000\002\001\001\000\002\001\001\000\010" +
-    "\013\032\014\030\024\026\001\001\000\002\001\001\000" +
-    "\002\001\001\000\004\026\037\001\001\000\002\001\001" +
-    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\004\006\043\001\001\000\002\001\001\000\010\007\045" +
-    "\016\046\024\044\001\001\000\006\026\225\027\224\001" +
-    "\001\000\002\001\001\000\014\017\052\022\056\025\053" +
-    "\026\050\031\061\001\001\000\002\001\001\000\002\001" +
-    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\014\020\141\021\064\022\072\025\067\026\050\001\001" +
-    "\000\014\020\065\021\064\022\072\025\067\026\050\001" +
-    "\001\000\002\001\001\000\002\001\001\000\014\020\140" +
-    "\021\064\022\072\025\067\026\050\001\001\000\002\001" +
-    "\001\000\002\001\001\000\014\020\136\021\064\022\072" +
-    "\025\067\026\050\001\001\000\002\001\001\000\002\001" +
-    "\001\000\002\001\001\000\002\001\001\000\014\020\132" +
-    "\021\064\022\072\025\067\026\050\001\001\000\014\020" +
-    "\076\021\064\022\072\025\067\026\050\001\001\000\002" +
-    "\001\001\000\002\001\001\000\014\020\131\021\064\022" +
-    "\072\025\067\026\050\001\001\000\014\020\130\021\064" +
-    "\022\072\025\067\026\050\001\001\000\014\020\127\021" +
-    "\064\022\072\025\067\026\050\001\001\000\014\020\126" +
-    "\021\064\022\072\025\067\026\050\001\001\000\014\020" +
-    "\125\021\064\022\072\025\067\026\050\001\001\000\014" +
-    "\020\124\021\064\022\072\025\067\026\050\001\001\000" +
-    "\014\020\123\021\064\022\072\025\067\026\050\001\001" +
-    "\000\014\020\122\021\064\022\072\025\067\026\050\001" +
-    "\001\000\014\020\121\021\064\022\072\025\067\026\050" +
-    "\001\001\000\014\020\120\021\064\022\072\025\067\026" +
-    "\050\001\001\000\002\001\001\000\014\020\117\021\064" +
-    "\022\072\025\067\026\050\001\001\000\014\020\116\021" +
-    "\064\022\072\025\067\026\050\001\001\000\014\020\115" +
-    "\021\064\022\072\025\067\026\050\001\001\000\002\001" +
-    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\001\000\002\001\001\000\006\026\021\027\017\001\001" +
     "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\004\026\242\001\001" +
+    "\000\002\001\001\000\004\012\024\001\001\000\002\001" +
+    "\001\000\002\001\001\000\004\015\043\001\001\000\010" +
+    "\013\030\014\031\024\027\001\001\000\002\001\001\000" +
+    "\006\026\036\027\035\001\001\000\002\001\001\000\002" +
+    "\001\001\000\006\014\034\024\027\001\001\000\002\001" +
+    "\001\000\002\001\001\000\004\026\040\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\004\006\044\001\001\000\002\001\001\000\010" +
+    "\007\046\016\047\024\045\001\001\000\006\026\230\027" +
+    "\227\001\001\000\002\001\001\000\014\017\053\022\057" +
+    "\025\054\026\051\031\063\001\001\000\002\001\001\000" +
     "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
     "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
-    "\001\000\014\020\134\021\064\022\072\025\067\026\050" +
+    "\001\000\002\001\001\000\014\020\143\021\066\022\072" +
+    "\025\071\026\051\001\001\000\014\020\067\021\066\022" +
+    "\072\025\071\026\051\001\001\000\002\001\001\000\002" +
+    "\001\001\000\014\020\142\021\066\022\072\025\071\026" +
+    "\051\001\001\000\002\001\001\000\002\001\001\000\014" +
+    "\020\140\021\066\022\072\025\071\026\051\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\014\020\134\021\066\022\072\025\071\026" +
+    "\051\001\001\000\002\001\001\000\014\020\100\021\066" +
+    "\022\072\025\071\026\051\001\001\000\002\001\001\000" +
+    "\014\020\133\021\066\022\072\025\071\026\051\001\001" +
+    "\000\014\020\132\021\066\022\072\025\071\026\051\001" +
+    "\001\000\014\020\131\021\066\022\072\025\071\026\051" +
+    "\001\001\000\014\020\130\021\066\022\072\025\071\026" +
+    "\051\001\001\000\014\020\127\021\066\022\072\025\071" +
+    "\026\051\001\001\000\014\020\126\021\066\022\072\025" +
+    "\071\026\051\001\001\000\014\020\125\021\066\022\072" +
+    "\025\071\026\051\001\001\000\014\020\124\021\066\022" +
+    "\072\025\071\026\051\001\001\000\014\020\123\021\066" +
+    "\022\072\025\071\026\051\001\001\000\014\020\122\021" +
+    "\066\022\072\025\071\026\051\001\001\000\002\001\001" +
+    "\000\014\020\121\021\066\022\072\025\071\026\051\001" +
+    "\001\000\014\020\120\021\066\022\072\025\071\026\051" +
+    "\001\001\000\014\020\117\021\066\022\072\025\071\026" +
+    "\051\001\001\000\002\001\001\000\002\001\001\000\002" +
     "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
     "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001\000\014\020\144\021\064\022\072\025" +
-    "\067\026\050\001\001\000\002\001\001\000\002\001\001" +
-    "\000\004\006\147\001\001\000\010\007\045\016\150\024" +
-    "\044\001\001\000\014\017\052\022\056\025\053\026\050" +
-    "\031\061\001\001\000\002\001\001\000\002\001\001\000" +
-    "\004\006\154\001\001\000\010\007\045\016\155\024\044" +
-    "\001\001\000\014\017\052\022\056\025\053\026\050\031" +
-    "\061\001\001\000\002\001\001\000\014\020\170\021\064" +
-    "\022\072\025\067\026\050\001\001\000\014\020\167\021" +
-    "\064\022\072\025\067\026\050\001\001\000\014\020\166" +
-    "\021\064\022\072\025\067\026\050\001\001\000\014\020" +
-    "\165\021\064\022\072\025\067\026\050\001\001\000\014" +
-    "\020\164\021\064\022\072\025\067\026\050\001\001\000" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\014\020\136\021\066" +
+    "\022\072\025\071\026\051\001\001\000\002\001\001\000" +
     "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
-    "\001\001\000\002\001\001\000\012\025\053\026\174\030" +
-    "\173\031\172\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001\000\014\020\176\021\064\022\072\025" +
-    "\067\026\050\001\001\000\002\001\001\000\012\025\053" +
-    "\026\174\030\200\031\172\001\001\000\002\001\001\000" +
-    "\002\001\001\000\004\006\203\001\001\000\010\007\045" +
-    "\016\204\024\044\001\001\000\014\017\052\022\056\025" +
-    "\053\026\050\031\061\001\001\000\002\001\001\000\016" +
-    "\020\207\021\064\022\072\023\210\025\067\026\050\001" +
-    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\014\020\214\021\064\022\072\025\067\026\050\001" +
-    "\001\000\002\001\001\000\002\001\001\000\014\020\216" +
-    "\021\064\022\072\025\067\026\050\001\001\000\002\001" +
-    "\001\000\002\001\001\000\004\006\221\001\001\000\010" +
-    "\007\045\016\222\024\044\001\001\000\014\017\052\022" +
-    "\056\025\053\026\050\031\061\001\001\000\002\001\001" +
-    "\000\004\026\226\001\001\000\002\001\001\000\002\001" +
-    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\014\020\147\021\066\022\072\025\071\026\051" +
+    "\001\001\000\002\001\001\000\002\001\001\000\004\006" +
+    "\152\001\001\000\010\007\046\016\153\024\045\001\001" +
+    "\000\014\017\053\022\057\025\054\026\051\031\063\001" +
+    "\001\000\002\001\001\000\002\001\001\000\004\006\157" +
+    "\001\001\000\010\007\046\016\160\024\045\001\001\000" +
+    "\014\017\053\022\057\025\054\026\051\031\063\001\001" +
+    "\000\002\001\001\000\014\020\173\021\066\022\072\025" +
+    "\071\026\051\001\001\000\014\020\172\021\066\022\072" +
+    "\025\071\026\051\001\001\000\014\020\171\021\066\022" +
+    "\072\025\071\026\051\001\001\000\014\020\170\021\066" +
+    "\022\072\025\071\026\051\001\001\000\014\020\167\021" +
+    "\066\022\072\025\071\026\051\001\001\000\002\001\001" +
     "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\004\012\240\001\001" +
-    "\000\004\015\242\001\001\000\002\001\001\000\002\001" +
-    "\001" });
+    "\002\001\001\000\012\025\054\026\177\030\176\031\175" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\014\020\201\021\066\022\072\025\071\026\051" +
+    "\001\001\000\002\001\001\000\012\025\054\026\177\030" +
+    "\203\031\175\001\001\000\002\001\001\000\002\001\001" +
+    "\000\004\006\206\001\001\000\010\007\046\016\207\024" +
+    "\045\001\001\000\014\017\053\022\057\025\054\026\051" +
+    "\031\063\001\001\000\002\001\001\000\016\020\212\021" +
+    "\066\022\072\023\213\025\071\026\051\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\014\020" +
+    "\217\021\066\022\072\025\071\026\051\001\001\000\002" +
+    "\001\001\000\002\001\001\000\014\020\221\021\066\022" +
+    "\072\025\071\026\051\001\001\000\002\001\001\000\002" +
+    "\001\001\000\004\006\224\001\001\000\010\007\046\016" +
+    "\225\024\045\001\001\000\014\017\053\022\057\025\054" +
+    "\026\051\031\063\001\001\000\002\001\001\000\004\026" +
+    "\231\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\004\012\243\001\001\000\004\015" +
+    "\245\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001" });
 
   /** Access to <code>reduce_goto</code> table. */
   public short[][] reduce_table() {return _reduce_table;}
@@ -451,18 +464,51 @@ public class parser extends java_cup.runtime.lr_parser {
   public int error_sym() {return 1;}
 
 
+  /** User initialization code. */
+  public void user_init() throws java.lang.Exception
+    {
+
+    if (ctx == null)
+        ctx = new CompileContext();
+
+    }
+
+
 
+// Per-compilation state, shared with the scanner. It is set by the
+// constructor below; a parser made by one of the generated constructors
+// gets its own when it starts parsing (see init with).
+CompileContext ctx;
+
+public parser(java_cup.runtime.Scanner s, CompileContext ctx) {
+    super(s);
+    this.ctx = ctx;
+}
+
+// Syntax errors reported so far. The parser recovers from an error in a
+// statement or a declaration (see the error productions below) and goes
+// on, so that one run reports all of them; the Program it then returns
+// is incomplete and must not be compiled.
+int syntaxErrors = 0;
 
 public void syntax_error(Symbol currToken) {
+    syntaxErrors++;
     if (currToken.value == null) {
-       Errors.fatal(0,0, "Syntax error at end of file");
+       ctx.errors.fatal(0,0, "Syntax error at end of file");
     }
     else {
-       Errors.fatal(((TokenVal)currToken.value).linenum,
+       ctx.errors.fatal(((TokenVal)currToken.value).linenum,
 	            ((TokenVal)currToken.value).charnum,
 		    "Syntax error");
     }
-    System.exit(-1);
+}
+
+/* The error has already been reported by syntax_error; just stop parsing
+ * so that the caller can decide what to do (parse() then does not return
+ * a Program).
+ */
+public void unrecovered_syntax_error(Symbol currToken) {
+    done_parsing();
 }
 
 }
@@ -491,19 +537,19 @@ class CUP$parser$actions {
       switch (CUP$parser$act_num)
         {
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 74: // id ::= ID 
+          case 77: // id ::= ID 
             {
               Id RESULT = null;
 		int ileft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
 		int iright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		StringTokenVal i = (StringTokenVal)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
-		 RESULT = new Id(i.linenum, i.charnum, i.strVal); 
+		IdTokenVal i = (IdTokenVal)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		 RESULT = new Id(i.linenum, i.charnum, i.strVal, i.id); 
               CUP$parser$result = new java_cup.runtime.Symbol(20/*id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 73: // loc ::= TIMES exp 
+          case 76: // loc ::= TIMES exp 
             {
               Exp RESULT = null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
@@ -515,7 +561,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 72: // loc ::= loc LSQBRACKET exp RSQBRACKET 
+          case 75: // loc ::= loc LSQBRACKET exp RSQBRACKET 
             {
               Exp RESULT = null;
 		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
@@ -530,7 +576,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 71: // loc ::= id 
+          case 74: // loc ::= id 
             {
               Exp RESULT = null;
 		int ileft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
@@ -542,34 +588,34 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 70: // actualList ::= actualList COMMA exp 
+          case 73: // actualList ::= actualList COMMA exp 
             {
-              LinkedList RESULT = null;
+              ArrayList RESULT = null;
 		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
 		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		LinkedList l = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		ArrayList l = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
 		Exp e = (Exp)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
-		 l.addLast(e); RESULT = l; 
+		 l.add(e); RESULT = l; 
               CUP$parser$result = new java_cup.runtime.Symbol(17/*actualList*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 69: // actualList ::= exp 
+          case 72: // actualList ::= exp 
             {
-              LinkedList RESULT = null;
+              ArrayList RESULT = null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
 		Exp e = (Exp)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
-		 RESULT = new LinkedList(); RESULT.addLast(e); 
+		 RESULT = new ArrayList(); RESULT.add(e); 
               CUP$parser$result = new java_cup.runtime.Symbol(17/*actualList*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 68: // fncall ::= id LPAREN actualList RPAREN 
+          case 71: // fncall ::= id LPAREN actualList RPAREN 
             {
               CallExp RESULT = null;
 		int ileft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
@@ -577,14 +623,14 @@ class CUP$parser$actions {
 		Id i = (Id)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
 		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList l = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList l = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 RESULT = new CallExp(i, new ActualList(l)); 
               CUP$parser$result = new java_cup.runtime.Symbol(16/*fncall*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 67: // fncall ::= id LPAREN RPAREN 
+          case 70: // fncall ::= id LPAREN RPAREN 
             {
               CallExp RESULT = null;
 		int ileft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -596,7 +642,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 66: // term ::= fncall 
+          case 69: // term ::= fncall 
             {
               Exp RESULT = null;
 		int fleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
@@ -608,7 +654,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 65: // term ::= LPAREN exp RPAREN 
+          case 68: // term ::= LPAREN exp RPAREN 
             {
               Exp RESULT = null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -620,19 +666,19 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 64: // term ::= STRINGLITERAL 
+          case 67: // term ::= STRINGLITERAL 
             {
               Exp RESULT = null;
 		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
 		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		StringTokenVal s = (StringTokenVal)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
-		 RESULT = new StringLit(s.linenum, s.charnum, s.strVal); 
+		StringLitTokenVal s = (StringLitTokenVal)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		 RESULT = new StringLit(s.linenum, s.charnum, s.literal); 
               CUP$parser$result = new java_cup.runtime.Symbol(15/*term*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 63: // term ::= INTLITERAL 
+          case 66: // term ::= INTLITERAL 
             {
               Exp RESULT = null;
 		int ileft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
@@ -644,7 +690,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 62: // term ::= loc 
+          case 65: // term ::= loc 
             {
               Exp RESULT = null;
 		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
@@ -656,7 +702,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 61: // exp ::= ADDROF exp 
+          case 64: // exp ::= ADDROF exp 
             {
               Exp RESULT = null;
 		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
@@ -668,7 +714,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 60: // exp ::= term 
+          case 63: // exp ::= term 
             {
               Exp RESULT = null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
@@ -680,7 +726,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 59: // exp ::= MINUS exp 
+          case 62: // exp ::= MINUS exp 
             {
               Exp RESULT = null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
@@ -692,7 +738,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 58: // exp ::= exp GREATEREQ exp 
+          case 61: // exp ::= exp GREATEREQ exp 
             {
               Exp RESULT = null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -707,7 +753,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 57: // exp ::= exp LESSEQ exp 
+          case 60: // exp ::= exp LESSEQ exp 
             {
               Exp RESULT = null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -722,7 +768,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 56: // exp ::= exp GREATER exp 
+          case 59: // exp ::= exp GREATER exp 
             {
               Exp RESULT = null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -737,7 +783,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 55: // exp ::= exp LESS exp 
+          case 58: // exp ::= exp LESS exp 
             {
               Exp RESULT = null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -752,7 +798,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 54: // exp ::= exp NOTEQUALS exp 
+          case 57: // exp ::= exp NOTEQUALS exp 
             {
               Exp RESULT = null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -767,7 +813,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 53: // exp ::= exp EQUALS exp 
+          case 56: // exp ::= exp EQUALS exp 
             {
               Exp RESULT = null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -782,7 +828,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 52: // exp ::= exp OR exp 
+          case 55: // exp ::= exp OR exp 
             {
               Exp RESULT = null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -797,7 +843,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 51: // exp ::= exp AND exp 
+          case 54: // exp ::= exp AND exp 
             {
               Exp RESULT = null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -812,7 +858,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 50: // exp ::= NOT exp 
+          case 53: // exp ::= NOT exp 
             {
               Exp RESULT = null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
@@ -824,7 +870,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 49: // exp ::= exp PERCENT exp 
+          case 52: // exp ::= exp PERCENT exp 
             {
               Exp RESULT = null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -839,7 +885,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 48: // exp ::= exp DIVIDE exp 
+          case 51: // exp ::= exp DIVIDE exp 
             {
               Exp RESULT = null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -854,7 +900,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 47: // exp ::= exp TIMES exp 
+          case 50: // exp ::= exp TIMES exp 
             {
               Exp RESULT = null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -869,7 +915,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 46: // exp ::= exp MINUS exp 
+          case 49: // exp ::= exp MINUS exp 
             {
               Exp RESULT = null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -884,7 +930,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 45: // exp ::= exp PLUS exp 
+          case 48: // exp ::= exp PLUS exp 
             {
               Exp RESULT = null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -899,7 +945,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 44: // forStmt ::= 
+          case 47: // forStmt ::= 
             {
               Stmt RESULT = null;
 		 RESULT = null; 
@@ -908,7 +954,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 43: // forStmt ::= assign 
+          case 46: // forStmt ::= assign 
             {
               Stmt RESULT = null;
 		int aleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
@@ -920,7 +966,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 42: // assign ::= loc DIVEQL exp 
+          case 45: // assign ::= loc DIVEQL exp 
             {
               Stmt RESULT = null;
 		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -935,7 +981,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 41: // assign ::= loc TIMESEQL exp 
+          case 44: // assign ::= loc TIMESEQL exp 
             {
               Stmt RESULT = null;
 		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -950,7 +996,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 40: // assign ::= loc MINUSEQL exp 
+          case 43: // assign ::= loc MINUSEQL exp 
             {
               Stmt RESULT = null;
 		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -965,7 +1011,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 39: // assign ::= loc PLUSEQL exp 
+          case 42: // assign ::= loc PLUSEQL exp 
             {
               Stmt RESULT = null;
 		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -980,7 +1026,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 38: // assign ::= loc ASSIGN exp 
+          case 41: // assign ::= loc ASSIGN exp 
             {
               Stmt RESULT = null;
 		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -995,7 +1041,16 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 37: // stmt ::= assign SEMICOLON 
+          case 40: // stmt ::= error SEMICOLON 
+            {
+              Stmt RESULT = null;
+		 RESULT = null; 
+              CUP$parser$result = new java_cup.runtime.Symbol(13/*stmt*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 39: // stmt ::= assign SEMICOLON 
             {
               Stmt RESULT = null;
 		int aleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -1007,7 +1062,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 36: // stmt ::= FOR LPAREN forStmt SEMICOLON exp SEMICOLON forStmt RPAREN LCURLY varDeclList stmtList RCURLY 
+          case 38: // stmt ::= FOR LPAREN forStmt SEMICOLON exp SEMICOLON forStmt RPAREN LCURLY varDeclList stmtList RCURLY 
             {
               Stmt RESULT = null;
 		int aleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-9)).left;
@@ -1021,17 +1076,17 @@ class CUP$parser$actions {
 		Stmt b = (Stmt)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-5)).value;
 		int vleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
 		int vright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		LinkedList v = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		ArrayList v = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
 		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList s = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList s = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 RESULT = new ForStmt(a, e, b, new DeclList(v), new StmtList(s)); 
               CUP$parser$result = new java_cup.runtime.Symbol(13/*stmt*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-11)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 35: // stmt ::= fncall SEMICOLON 
+          case 37: // stmt ::= fncall SEMICOLON 
             {
               Stmt RESULT = null;
 		int fleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -1043,7 +1098,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 34: // stmt ::= RETURN SEMICOLON 
+          case 36: // stmt ::= RETURN SEMICOLON 
             {
               Stmt RESULT = null;
 		 RESULT = new ReturnStmt(null); 
@@ -1052,7 +1107,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 33: // stmt ::= RETURN exp SEMICOLON 
+          case 35: // stmt ::= RETURN exp SEMICOLON 
             {
               Stmt RESULT = null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -1064,7 +1119,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 32: // stmt ::= WHILE LPAREN exp RPAREN LCURLY varDeclList stmtList RCURLY 
+          case 34: // stmt ::= WHILE LPAREN exp RPAREN LCURLY varDeclList stmtList RCURLY 
             {
               Stmt RESULT = null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).left;
@@ -1072,17 +1127,17 @@ class CUP$parser$actions {
 		Exp e = (Exp)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-5)).value;
 		int vleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
 		int vright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		LinkedList v = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		ArrayList v = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
 		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList s = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList s = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 RESULT = new WhileStmt(e, new DeclList(v), new StmtList(s)); 
               CUP$parser$result = new java_cup.runtime.Symbol(13/*stmt*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 31: // stmt ::= IF LPAREN exp RPAREN LCURLY varDeclList stmtList RCURLY ELSE LCURLY varDeclList stmtList RCURLY 
+          case 33: // stmt ::= IF LPAREN exp RPAREN LCURLY varDeclList stmtList RCURLY ELSE LCURLY varDeclList stmtList RCURLY 
             {
               Stmt RESULT = null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-10)).left;
@@ -1090,16 +1145,16 @@ class CUP$parser$actions {
 		Exp e = (Exp)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-10)).value;
 		int v1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).left;
 		int v1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).right;
-		LinkedList v1 = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-7)).value;
+		ArrayList v1 = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-7)).value;
 		int s1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).left;
 		int s1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).right;
-		LinkedList s1 = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-6)).value;
+		ArrayList s1 = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-6)).value;
 		int v2left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
 		int v2right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		LinkedList v2 = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		ArrayList v2 = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
 		int s2left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int s2right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList s2 = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList s2 = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 RESULT = new IfElseStmt(e, new DeclList(v1), new StmtList(s1),
                                              new DeclList(v2), new StmtList(s2)); 
               CUP$parser$result = new java_cup.runtime.Symbol(13/*stmt*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-12)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
@@ -1107,7 +1162,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 30: // stmt ::= IF LPAREN exp RPAREN LCURLY varDeclList stmtList RCURLY 
+          case 32: // stmt ::= IF LPAREN exp RPAREN LCURLY varDeclList stmtList RCURLY 
             {
               Stmt RESULT = null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).left;
@@ -1115,56 +1170,56 @@ class CUP$parser$actions {
 		Exp e = (Exp)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-5)).value;
 		int vleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
 		int vright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		LinkedList v = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		ArrayList v = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
 		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList s = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList s = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 RESULT = new IfStmt(e, new DeclList(v), new StmtList(s)); 
               CUP$parser$result = new java_cup.runtime.Symbol(13/*stmt*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 29: // stmtList ::= 
+          case 31: // stmtList ::= 
             {
-              LinkedList RESULT = null;
-		 RESULT = new LinkedList(); 
+              ArrayList RESULT = null;
+		 RESULT = new ArrayList(); 
               CUP$parser$result = new java_cup.runtime.Symbol(12/*stmtList*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 28: // stmtList ::= stmtList stmt 
+          case 30: // stmtList ::= stmtList stmt 
             {
-              LinkedList RESULT = null;
+              ArrayList RESULT = null;
 		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList l = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList l = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
 		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
 		Stmt s = (Stmt)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
-		 l.addLast(s); RESULT = l; 
+		 if (s != null) l.add(s); RESULT = l; 
               CUP$parser$result = new java_cup.runtime.Symbol(12/*stmtList*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 27: // fnBody ::= LCURLY varDeclList stmtList RCURLY 
+          case 29: // fnBody ::= LCURLY varDeclList stmtList RCURLY 
             {
               FnBody RESULT = null;
 		int vleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
 		int vright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		LinkedList v = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		ArrayList v = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
 		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList s = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList s = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 RESULT = new FnBody(new DeclList(v), new StmtList(s)); 
               CUP$parser$result = new java_cup.runtime.Symbol(11/*fnBody*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 26: // type ::= INT 
+          case 28: // type ::= INT 
             {
               String RESULT = null;
 		 RESULT = Type.intTypeName; 
@@ -1173,7 +1228,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 25: // type ::= VOID 
+          case 27: // type ::= VOID 
             {
               String RESULT = null;
 		 RESULT = Type.voidTypeName; 
@@ -1182,7 +1237,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 24: // formalDecl ::= type pointers id 
+          case 26: // formalDecl ::= type pointers id 
             {
               FormalDecl RESULT = null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1200,7 +1255,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 23: // formalDecl ::= type id 
+          case 25: // formalDecl ::= type id 
             {
               FormalDecl RESULT = null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -1215,55 +1270,55 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 22: // formalsList ::= formalDecl COMMA formalsList 
+          case 24: // formalsList ::= formalsList COMMA formalDecl 
             {
-              LinkedList RESULT = null;
-		int fleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
-		int fright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		FormalDecl f = (FormalDecl)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
-		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		LinkedList l = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
-		 l.addFirst(f); RESULT = l; 
+              ArrayList RESULT = null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		ArrayList l = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int fleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
+		int fright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
+		FormalDecl f = (FormalDecl)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		 l.add(f); RESULT = l; 
               CUP$parser$result = new java_cup.runtime.Symbol(9/*formalsList*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 21: // formalsList ::= formalDecl 
+          case 23: // formalsList ::= formalDecl 
             {
-              LinkedList RESULT = null;
+              ArrayList RESULT = null;
 		int fleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
 		int fright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
 		FormalDecl f = (FormalDecl)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
-		 RESULT = new LinkedList(); RESULT.addLast(f); 
+		 RESULT = new ArrayList(); RESULT.add(f); 
               CUP$parser$result = new java_cup.runtime.Symbol(9/*formalsList*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 20: // formals ::= LPAREN formalsList RPAREN 
+          case 22: // formals ::= LPAREN formalsList RPAREN 
             {
               FormalsList RESULT = null;
 		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList l = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList l = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 RESULT = new FormalsList(l); 
               CUP$parser$result = new java_cup.runtime.Symbol(8/*formals*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 19: // formals ::= LPAREN RPAREN 
+          case 21: // formals ::= LPAREN RPAREN 
             {
               FormalsList RESULT = null;
-		 RESULT = new FormalsList(new LinkedList()); 
+		 RESULT = new FormalsList(new ArrayList()); 
               CUP$parser$result = new java_cup.runtime.Symbol(8/*formals*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 18: // fnPreDecl ::= type pointers id formals SEMICOLON 
+          case 20: // fnPreDecl ::= type pointers id formals SEMICOLON 
             {
               FnPreDecl RESULT = null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
@@ -1284,7 +1339,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 17: // fnPreDecl ::= type id formals SEMICOLON 
+          case 19: // fnPreDecl ::= type id formals SEMICOLON 
             {
               FnPreDecl RESULT = null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
@@ -1302,7 +1357,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 16: // fnDecl ::= type pointers id formals fnBody 
+          case 18: // fnDecl ::= type pointers id formals fnBody 
             {
               FnDecl RESULT = null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
@@ -1326,7 +1381,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 15: // fnDecl ::= type id formals fnBody 
+          case 17: // fnDecl ::= type id formals fnBody 
             {
               FnDecl RESULT = null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
@@ -1347,7 +1402,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 14: // pointers ::= TIMES 
+          case 16: // pointers ::= TIMES 
             {
               Integer RESULT = null;
 		 RESULT = new Integer(1); 
@@ -1356,7 +1411,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 13: // pointers ::= pointers TIMES 
+          case 15: // pointers ::= pointers TIMES 
             {
               Integer RESULT = null;
 		int pleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -1368,7 +1423,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 12: // varDecl ::= type pointers id SEMICOLON 
+          case 14: // varDecl ::= type pointers id SEMICOLON 
             {
               VarDecl RESULT = null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
@@ -1386,7 +1441,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 11: // varDecl ::= type pointers id LSQBRACKET INTLITERAL RSQBRACKET SEMICOLON 
+          case 13: // varDecl ::= type pointers id LSQBRACKET INTLITERAL RSQBRACKET SEMICOLON 
             {
               VarDecl RESULT = null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).left;
@@ -1407,7 +1462,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 10: // varDecl ::= type id LSQBRACKET INTLITERAL RSQBRACKET SEMICOLON 
+          case 12: // varDecl ::= type id LSQBRACKET INTLITERAL RSQBRACKET SEMICOLON 
             {
               VarDecl RESULT = null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).left;
@@ -1425,7 +1480,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 9: // varDecl ::= type id SEMICOLON 
+          case 11: // varDecl ::= type id SEMICOLON 
             {
               VarDecl RESULT = null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1440,29 +1495,47 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 8: // varDeclList ::= 
+          case 10: // varDeclList ::= 
             {
-              LinkedList RESULT = null;
-		 RESULT = new LinkedList(); 
+              ArrayList RESULT = null;
+		 RESULT = new ArrayList(); 
               CUP$parser$result = new java_cup.runtime.Symbol(4/*varDeclList*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 7: // varDeclList ::= varDeclList varDecl 
+          case 9: // varDeclList ::= varDeclList varDecl 
             {
-              LinkedList RESULT = null;
+              ArrayList RESULT = null;
 		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList l = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList l = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		int varleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
 		int varright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
 		VarDecl var = (VarDecl)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
-		 l.addLast(var); RESULT = l; 
+		 l.add(var); RESULT = l; 
               CUP$parser$result = new java_cup.runtime.Symbol(4/*varDeclList*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
 
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 8: // decl ::= error RCURLY 
+            {
+              Decl RESULT = null;
+		 RESULT = null; 
+              CUP$parser$result = new java_cup.runtime.Symbol(3/*decl*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 7: // decl ::= error SEMICOLON 
+            {
+              Decl RESULT = null;
+		 RESULT = null; 
+              CUP$parser$result = new java_cup.runtime.Symbol(3/*decl*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+            }
+          return CUP$parser$result;
+
           /*. . . . . . . . . . . . . . . . . . . .*/
           case 6: // decl ::= fnPreDecl 
             {
@@ -1502,8 +1575,8 @@ class CUP$parser$actions {
           /*. . . . . . . . . . . . . . . . . . . .*/
           case 3: // declList ::= 
             {
-              LinkedList RESULT = null;
-		 RESULT = new LinkedList(); 
+              ArrayList RESULT = null;
+		 RESULT = new ArrayList(); 
               CUP$parser$result = new java_cup.runtime.Symbol(2/*declList*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
@@ -1511,14 +1584,16 @@ class CUP$parser$actions {
           /*. . . . . . . . . . . . . . . . . . . .*/
           case 2: // declList ::= declList decl 
             {
-              LinkedList RESULT = null;
+              ArrayList RESULT = null;
 		int dlleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int dlright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList dl = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList dl = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		int dleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
 		int dright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
 		Decl d = (Decl)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
-		 dl.addLast(d); RESULT = dl; 
+		 if (d == null || parser.syntaxErrors > 0) ; // nothing will be compiled
+                  else if (parser.ctx.stream != null) parser.ctx.stream.add(d); else dl.add(d);
+                  RESULT = dl; 
               CUP$parser$result = new java_cup.runtime.Symbol(2/*declList*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
           return CUP$parser$result;
@@ -1529,7 +1604,7 @@ class CUP$parser$actions {
               Program RESULT = null;
 		int dleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
 		int dright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		LinkedList d = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		ArrayList d = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
 		 RESULT = new Program(new DeclList(d)); 
               CUP$parser$result = new java_cup.runtime.Symbol(1/*program*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
             }
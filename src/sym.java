@@ -1,7 +1,7 @@
 
 //----------------------------------------------------
 // The following code was generated by CUP v0.10k
-// Tue Apr 07 19:44:41 ICT 2015
+// Fri Oct 16 22:54:30 UTC 2026
 //----------------------------------------------------
 
 /** CUP generated class containing symbol constants. */
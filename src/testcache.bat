@@ -0,0 +1,17 @@
+rem Check that -cache gives the same HIR, on a program with string literals
+rem over 64 KB; the second run takes every function from the cache file
+java WorkloadGenerator -functions 3 -strings 2 -strlen 70000 bigstrings.C
+java -classpath .;jlex.jar;javacup.jar HIRCompiler bigstrings.C bigstrings.hir
+del bigstrings.cache
+java -classpath .;jlex.jar;javacup.jar HIRCompiler -cache=bigstrings.cache bigstrings.C bigstrings1.hir
+java -classpath .;jlex.jar;javacup.jar HIRCompiler -cache=bigstrings.cache bigstrings.C bigstrings2.hir
+fc bigstrings.hir bigstrings1.hir
+fc bigstrings.hir bigstrings2.hir
+rem The same in batch mode, which must write the cache file too
+mkdir bigstrings
+copy bigstrings.C bigstrings\bigstrings.C
+del bigstrings.batch.cache
+java -classpath .;jlex.jar;javacup.jar HIRCompiler -batch -cache=bigstrings.batch.cache bigstrings
+if not exist bigstrings.batch.cache echo FAILED: batch mode did not save the cache
+java -classpath .;jlex.jar;javacup.jar HIRCompiler -batch -cache=bigstrings.batch.cache bigstrings
+fc bigstrings.hir bigstrings\bigstrings.hir
@@ -0,0 +1,3 @@
+rem Compile %1 in every source mode; each run must print "Finished!"
+rem (testmodes empty.C checks that an empty source ends the scan)
+for %%m in ("" "-mmap" "-utf8" "-mmap -fastlex" "-prelex" "-prelex -fastlex" "-descent" "-mmap -descent" "-utf8 -descent") do java -classpath .;jlex.jar;javacup.jar HIRCompiler %%~m %1 %~n1.hir